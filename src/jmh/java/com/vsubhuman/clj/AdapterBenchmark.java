@@ -0,0 +1,93 @@
+package com.vsubhuman.clj;
+
+import static com.vsubhuman.clj.BenchNames.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.LongUnaryOperator;
+import java.util.function.Predicate;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import clojure.lang.IFn;
+
+/**
+ * Java functional adapters of the namespace functions compared to direct `IFn.invoke`
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AdapterBenchmark {
+
+	private IFn first;
+	private IFn add;
+	private IFn incLong;
+	private Function<Object, Object> fn1;
+	private BiFunction<Object, Object, Object> fn2;
+	private LongUnaryOperator fnLong1;
+	private Predicate<Object> predicate;
+	private Object a = "a", b = "b";
+	private Long x = 1000L, y = 2000L;
+	private long primitive = 1000L;
+
+	@Setup
+	@SuppressWarnings("unchecked")
+	public void setup() {
+		CljNamespace ns = UberClj.require(BENCH_NS);
+		first = ns.fn(FN_FIRST);
+		add = ns.fn(FN_ADD);
+		incLong = ns.fn(FN_INC_LONG);
+		fn1 = ns.fn1(FN_FIRST);
+		fn2 = ns.fn2(FN_ADD);
+		fnLong1 = ns.fnLong1(FN_INC_LONG);
+		predicate = ns.as(Predicate.class, FN_FIRST);
+	}
+
+	@Benchmark
+	public Object invoke_1() {
+		return first.invoke(a);
+	}
+
+	@Benchmark
+	public Object fn1() {
+		return fn1.apply(a);
+	}
+
+	@Benchmark
+	public boolean asPredicate() {
+		return predicate.test(a);
+	}
+
+	@Benchmark
+	public Object invoke_2() {
+		return add.invoke(x, y);
+	}
+
+	@Benchmark
+	public Object fn2() {
+		return fn2.apply(x, y);
+	}
+
+	@Benchmark
+	public long invokeBoxedLong() {
+		return (Long) incLong.invoke(primitive);
+	}
+
+	@Benchmark
+	public long fnLong1() {
+		return fnLong1.applyAsLong(primitive);
+	}
+}
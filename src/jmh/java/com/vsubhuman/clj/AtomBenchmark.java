@@ -0,0 +1,64 @@
+package com.vsubhuman.clj;
+
+import static com.vsubhuman.clj.BenchNames.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import clojure.lang.IFn;
+
+/**
+ * Counter increments from multiple threads: `swap!` thru the core function, atom handle, and striped atom
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class AtomBenchmark {
+
+	private static final UnaryOperator<Long> INC = x -> x + 1;
+
+	private Object atom;
+	private IFn inc;
+	private CljAtom<Long> handle;
+	private CljStripedAtom<Long> striped;
+
+	@Setup
+	public void setup() {
+		CljNamespace ns = UberClj.require(BENCH_NS);
+		atom = ns.value(ATOM_COUNTER);
+		inc = UberClj.fn(CljCore.NAME, "inc");
+		handle = ns.atom(ATOM_COUNTER);
+		striped = UberClj.stripedAtom(0L, Long::sum);
+	}
+
+	@Benchmark
+	public Object coreSwap() {
+		return UberClj.call(CljCore.NAME, "swap!", atom, inc);
+	}
+
+	@Benchmark
+	public Object handleSwap() {
+		return handle.swap(INC);
+	}
+
+	@Benchmark
+	public void stripedSwap() {
+		striped.swap(INC);
+	}
+}
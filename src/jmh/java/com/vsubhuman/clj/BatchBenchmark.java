@@ -0,0 +1,58 @@
+package com.vsubhuman.clj;
+
+import static com.vsubhuman.clj.BenchNames.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Batch calls compared to a loop of single calls
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchBenchmark {
+
+	@Param({ "1000" })
+	private int size;
+
+	private CljNamespace ns;
+	private List<Object[]> args;
+
+	@Setup
+	public void setup() {
+		ns = UberClj.require(BENCH_NS);
+		args = new ArrayList<>(size);
+		for (long i = 0; i < size; i++)
+			args.add(new Object[]{ i, i });
+	}
+
+	@Benchmark
+	public Object callLoop() {
+		List<Object> results = new ArrayList<>(size);
+		for (Object[] a : args)
+			results.add(ns.call(FN_ADD, a));
+		return results;
+	}
+
+	@Benchmark
+	public Object callBatch() {
+		return ns.callBatch(FN_ADD, args);
+	}
+}
@@ -0,0 +1,23 @@
+package com.vsubhuman.clj;
+
+final class BenchNames {
+
+	/**
+	 * Name of the namespace used in benchmarks
+	 */
+	static final String BENCH_NS = "com.vsubhuman.clj.bench-ns";
+
+	static final String VALUE = "bench-value";
+	static final String FN_FIRST = "bench-first";
+	static final String FN_ADD = "bench-add";
+	static final String FN_INC_LONG = "bench-inc-long";
+
+	static final String DYNAMIC_REQUEST_ID = "*bench-request-id*";
+	static final String DYNAMIC_CONFIG = "*bench-config*";
+	static final String FN_REQUEST = "bench-request";
+
+	static final String ATOM_COUNTER = "bench-counter";
+
+	private BenchNames() {
+	}
+}
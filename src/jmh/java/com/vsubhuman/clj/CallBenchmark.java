@@ -0,0 +1,85 @@
+package com.vsubhuman.clj;
+
+import static com.vsubhuman.clj.BenchNames.*;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import clojure.lang.IFn;
+
+/**
+ * Function calls thru the interop API compared to direct `IFn.invoke`
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CallBenchmark {
+
+	private CljNamespace ns;
+	private IFn fn;
+	private Object a = "a", b = "b", c = "c", d = "d", e = "e";
+
+	@Setup
+	public void setup() {
+		ns = UberClj.require(BENCH_NS);
+		fn = ns.fn(FN_FIRST);
+	}
+
+	@Benchmark
+	public Object invoke_1() {
+		return fn.invoke(a);
+	}
+
+	@Benchmark
+	public Object invoke_3() {
+		return fn.invoke(a, b, c);
+	}
+
+	@Benchmark
+	public Object invoke_5() {
+		return fn.invoke(a, b, c, d, e);
+	}
+
+	@Benchmark
+	public Object uberCall_1() {
+		return UberClj.call(BENCH_NS, FN_FIRST, a);
+	}
+
+	@Benchmark
+	public Object uberCall_3() {
+		return UberClj.call(BENCH_NS, FN_FIRST, a, b, c);
+	}
+
+	@Benchmark
+	public Object uberCall_5() {
+		return UberClj.call(BENCH_NS, FN_FIRST, a, b, c, d, e);
+	}
+
+	@Benchmark
+	public Object namespaceCall_1() {
+		return ns.call(FN_FIRST, a);
+	}
+
+	@Benchmark
+	public Object namespaceCall_3() {
+		return ns.call(FN_FIRST, a, b, c);
+	}
+
+	@Benchmark
+	public Object namespaceCall_5() {
+		return ns.call(FN_FIRST, a, b, c, d, e);
+	}
+}
@@ -0,0 +1,161 @@
+package com.vsubhuman.clj;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import clojure.lang.IFn;
+import clojure.lang.Keyword;
+
+/**
+ * Persistent collection builders across collection sizes
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollectionBenchmark {
+
+	private static final Keyword LONG = Keyword.intern("long");
+
+	@Param({ "1", "10", "1000", "100000" })
+	public int size;
+
+	private Object[] array;
+	private Object[] pairs;
+	private List<Object> list;
+	private List<Object> pairsList;
+	private Map<Object, Object> javaMap;
+	private long[] longs;
+	private Object longVector;
+	private IFn vectorOf;
+	private IFn conj;
+
+	@Setup
+	public void setup() {
+		array = new Object[size];
+		pairs = new Object[size * 2];
+		for (int i = 0; i < size; i++) {
+			array[i] = "element-" + i;
+			pairs[i * 2] = "key-" + i;
+			pairs[i * 2 + 1] = i;
+		}
+		list = new ArrayList<>(Arrays.asList(array));
+		pairsList = new ArrayList<>(Arrays.asList(pairs));
+		javaMap = new HashMap<>();
+		for (int i = 0; i < pairs.length; i += 2)
+			javaMap.put(pairs[i], pairs[i + 1]);
+		longs = new long[size];
+		for (int i = 0; i < size; i++)
+			longs[i] = i;
+		longVector = UberClj.longVector(longs);
+		vectorOf = UberClj.fn(CljCore.NAME, "vector-of");
+		conj = UberClj.fn(CljCore.NAME, "conj");
+	}
+
+	@Benchmark
+	public Object vectorFromArray() {
+		return UberClj.vector(array);
+	}
+
+	@Benchmark
+	public Object vectorFromCollection() {
+		return UberClj.vector(list);
+	}
+
+	@Benchmark
+	public Object listFromArray() {
+		return UberClj.list(array);
+	}
+
+	@Benchmark
+	public Object listFromCollection() {
+		return UberClj.list(list);
+	}
+
+	@Benchmark
+	public Object setFromArray() {
+		return UberClj.set(array);
+	}
+
+	@Benchmark
+	public Object setFromCollection() {
+		return UberClj.set(list);
+	}
+
+	@Benchmark
+	public Object mapFromArray() {
+		return UberClj.map(pairs);
+	}
+
+	@Benchmark
+	public Object mapFromCollection() {
+		return UberClj.map(pairsList);
+	}
+
+	@Benchmark
+	public Object mapFromJavaMap() {
+		return UberClj.map(javaMap);
+	}
+
+	@Benchmark
+	public Object vectorBuilder() {
+		CljVectorBuilder builder = UberClj.vectorBuilder();
+		for (Object e : array)
+			builder.add(e);
+		return builder.build();
+	}
+
+	@Benchmark
+	public Object mapBuilder() {
+		CljMapBuilder builder = UberClj.mapBuilder(size);
+		for (int i = 0; i < pairs.length; i += 2)
+			builder.put(pairs[i], pairs[i + 1]);
+		return builder.build();
+	}
+
+	@Benchmark
+	public Object seqFromArray() {
+		return UberClj.seq(array);
+	}
+
+	@Benchmark
+	public Object seqFromCollection() {
+		return UberClj.seq(list);
+	}
+
+	@Benchmark
+	public Object longVectorFromArray() {
+		return UberClj.longVector(longs);
+	}
+
+	@Benchmark
+	public Object longVectorByConj() {
+		Object vector = vectorOf.invoke(LONG);
+		for (long e : longs)
+			vector = conj.invoke(vector, e);
+		return vector;
+	}
+
+	@Benchmark
+	public Object longArrayFromVector() {
+		return UberClj.toLongArray(longVector);
+	}
+}
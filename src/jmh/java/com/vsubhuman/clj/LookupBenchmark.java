@@ -0,0 +1,104 @@
+package com.vsubhuman.clj;
+
+import static com.vsubhuman.clj.BenchNames.*;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import clojure.java.api.Clojure;
+import clojure.lang.IFn;
+import clojure.lang.Keyword;
+import clojure.lang.RT;
+import clojure.lang.Var;
+
+/**
+ * Var and value lookups thru the interop API compared to the clojure java API
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LookupBenchmark {
+
+	private static final int FIELDS = 20;
+
+	private CljNamespace ns;
+	private String[] fields;
+	private CljKeyLookup[] lookups;
+	private Object map;
+
+	@Setup
+	public void setup() {
+		ns = UberClj.require(BENCH_NS);
+		fields = new String[FIELDS];
+		lookups = new CljKeyLookup[FIELDS];
+		CljMapBuilder builder = UberClj.mapBuilder(FIELDS);
+		for (int i = 0; i < FIELDS; i++) {
+			fields[i] = "field-" + i;
+			lookups[i] = UberClj.keyLookup(fields[i]);
+			builder.put(UberClj.key(fields[i]), i);
+		}
+		map = builder.build();
+	}
+
+	@Benchmark
+	public Object clojureVar() {
+		return Clojure.var(BENCH_NS, VALUE);
+	}
+
+	@Benchmark
+	public Var uberVar() {
+		return UberClj.var(BENCH_NS, VALUE);
+	}
+
+	@Benchmark
+	public Object uberValue() {
+		return UberClj.value(BENCH_NS, VALUE);
+	}
+
+	@Benchmark
+	public IFn uberFn() {
+		return UberClj.fn(BENCH_NS, FN_FIRST);
+	}
+
+	@Benchmark
+	public Object namespaceValue() {
+		return ns.value(VALUE);
+	}
+
+	@Benchmark
+	public IFn namespaceFn() {
+		return ns.fn(FN_FIRST);
+	}
+
+	@Benchmark
+	public void mapFieldsByInternedKeys(Blackhole bh) {
+		for (String field : fields)
+			bh.consume(RT.get(map, Keyword.intern(field)));
+	}
+
+	@Benchmark
+	public void mapFieldsByCachedKeys(Blackhole bh) {
+		for (String field : fields)
+			bh.consume(RT.get(map, UberClj.key(field)));
+	}
+
+	@Benchmark
+	public void mapFieldsByKeyLookups(Blackhole bh) {
+		for (CljKeyLookup lookup : lookups)
+			bh.consume(lookup.get(map));
+	}
+}
@@ -0,0 +1,47 @@
+package com.vsubhuman.clj;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <p>Cost of the first collection construction in a fresh JVM,
+ * with and without clojure runtime being booted first.
+ *
+ * <p>Each measurement is a single shot in a separate fork, since class initialization happens only once.
+ * The `eager` path boots runtime the way static initialization of {@link CljCore} used to do it,
+ * the `lazy` path only builds collections.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+public class StartupBenchmark {
+
+	@Benchmark
+	public Object eager() {
+		CljCore.require(CljCore.NAME);
+		return collections();
+	}
+
+	@Benchmark
+	public Object lazy() {
+		return collections();
+	}
+
+	private static Object collections() {
+		return Arrays.asList(
+				UberClj.vector(1, 2, 3),
+				UberClj.list("a", "b", "c"),
+				UberClj.map("a", 1, "b", 2),
+				UberClj.set("a", "b"));
+	}
+}
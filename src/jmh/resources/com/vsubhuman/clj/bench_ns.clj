@@ -0,0 +1,21 @@
+(ns com.vsubhuman.clj.bench-ns)
+
+(def bench-value 42)
+
+(defn bench-first
+  ([a] a)
+  ([a b] a)
+  ([a b c] a)
+  ([a b c d] a)
+  ([a b c d e] a)
+  ([a b c d e & more] a))
+
+(defn bench-add [a b] (+ a b))
+
+(defn bench-inc-long ^long [^long x] (inc x))
+
+(def ^:dynamic *bench-request-id* nil)
+(def ^:dynamic *bench-config* nil)
+(defn bench-request [] *bench-request-id*)
+
+(def bench-counter (atom 0))
@@ -0,0 +1,124 @@
+package com.vsubhuman.clj;
+
+import java.lang.invoke.LambdaConversionException;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import clojure.lang.IFn;
+import clojure.lang.Util;
+
+/**
+ * <p>Implementations of functional interfaces calling clojure functions.
+ *
+ * <p>When the method of the interface may be implemented by `invoke` (or `invokePrim`) of the function directly,
+ * with nothing but boxing of the arguments and a cast of the result, the implementation is created by the
+ * {@link LambdaMetafactory} the same way as for a method reference (e.g. `fn::invoke`),
+ * so it's as easy for the JIT to inline as a hand-written lambda.
+ * Otherwise (e.g. `boolean` result requires clojure truthiness, `int` result requires {@link clojure.lang.RT#intCast(Object)})
+ * the implementation is generated by the {@link Binder}.
+ *
+ * @see CljNamespace#as(Class, String)
+ */
+final class Adapters {
+
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+	/**
+	 * Lambda factories (from a function to the interface), by the primitive interface they call
+	 */
+	private static final ClassValue<ConcurrentMap<Class<?>, MethodHandle>> FACTORIES = new ClassValue<ConcurrentMap<Class<?>, MethodHandle>>() {
+		@Override
+		protected ConcurrentMap<Class<?>, MethodHandle> computeValue(Class<?> type) {
+			return new ConcurrentHashMap<>();
+		}
+	};
+
+	private Adapters() {
+	}
+
+	/**
+	 * Create implementation of the specified functional interface calling the specified function
+	 *
+	 * @throws IllegalArgumentException in case specified class is not a public functional interface,
+	 * or the function doesn't accept the number of arguments of its method
+	 */
+	static <F> F as(Class<F> iface, IFn fn) {
+		Method m = functionalMethod(iface);
+		Class<?> prim = Binder.primInterface(fn, m);
+		if (!isExact(m, prim) || !isVisible(iface))
+			return Binder.adapt(iface, m, fn);
+		if (!Binder.accepts(fn, m.getParameterCount()))
+			throw new IllegalArgumentException("Wrong number of args (" + m.getParameterCount()
+					+ ") accepted by " + fn + " adapted to " + m);
+		MethodHandle factory = FACTORIES.get(iface).computeIfAbsent(prim != null ? prim : IFn.class,
+				receiver -> factory(iface, m, receiver));
+		try {
+			return iface.cast(factory.invoke(fn));
+		} catch (Throwable t) {
+			throw Util.sneakyThrow(t);
+		}
+	}
+
+	/*
+	 * The only abstract method of the interface
+	 */
+	private static Method functionalMethod(Class<?> iface) {
+		if (!iface.isInterface() || !Modifier.isPublic(iface.getModifiers()))
+			throw new IllegalArgumentException("Public interface expected: " + iface.getName());
+		Map<String, Method> methods = new LinkedHashMap<>();
+		for (Method m : iface.getMethods())
+			if (Modifier.isAbstract(m.getModifiers()) && !Binder.isObjectMethod(m))
+				methods.putIfAbsent(m.getName() + MethodType.methodType(void.class, m.getParameterTypes()), m);
+		if (methods.size() != 1)
+			throw new IllegalArgumentException("Functional interface expected: " + iface.getName());
+		return methods.values().iterator().next();
+	}
+
+	/*
+	 * Whether the method may be implemented by `invokePrim` of the primitive interface,
+	 * or by `invoke`, when the result is not primitive
+	 */
+	private static boolean isExact(Method m, Class<?> prim) {
+		if (prim != null)
+			return true;
+		Class<?> ret = m.getReturnType();
+		return m.getParameterCount() <= Invoker.MAX_FIXED_ARITY && (ret == void.class || !ret.isPrimitive());
+	}
+
+	/*
+	 * Lambda class is defined in the loader of this class, so it should see the interface
+	 */
+	private static boolean isVisible(Class<?> iface) {
+		try {
+			return Class.forName(iface.getName(), false, Adapters.class.getClassLoader()) == iface;
+		} catch (ClassNotFoundException e) {
+			return false;
+		}
+	}
+
+	private static MethodHandle factory(Class<?> iface, Method m, Class<?> receiver) {
+		try {
+			MethodHandle impl;
+			if (receiver == IFn.class) {
+				impl = LOOKUP.findVirtual(IFn.class, "invoke", MethodType.genericMethodType(m.getParameterCount()));
+			} else {
+				Method invokePrim = receiver.getMethods()[0];
+				impl = LOOKUP.findVirtual(receiver, invokePrim.getName(),
+						MethodType.methodType(invokePrim.getReturnType(), invokePrim.getParameterTypes()));
+			}
+			MethodType type = MethodType.methodType(m.getReturnType(), m.getParameterTypes());
+			return LambdaMetafactory.metafactory(LOOKUP, m.getName(), MethodType.methodType(iface, receiver),
+					type, impl, type).getTarget();
+		} catch (NoSuchMethodException | IllegalAccessException | LambdaConversionException e) {
+			throw new IllegalStateException("Failed to adapt " + receiver.getName() + " to " + m, e);
+		}
+	}
+}
@@ -0,0 +1,131 @@
+package com.vsubhuman.clj;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import clojure.lang.IFn;
+import clojure.lang.Var;
+
+/**
+ * <p>Calls of the same function with multiple arrays of arguments.
+ *
+ * <p>The call for the fixed arity is selected once and reused while the number of arguments doesn't change,
+ * so per-call overhead is close to a direct `IFn.invoke`.
+ * Results are written into a preallocated array.
+ *
+ * @see CljNamespace#callBatch(String, List)
+ */
+final class Batches {
+
+	/**
+	 * Number of subtasks per thread of the pool, a batch is split into in parallel mode
+	 */
+	private static final int TASKS_PER_THREAD = 8;
+
+	private Batches() {
+	}
+
+	/**
+	 * Call the function with each array of arguments in the calling thread
+	 */
+	static Object[] invokeAll(IFn fn, List<Object[]> args) {
+		Object[] results = new Object[args.size()];
+		Invoker.Call call = null;
+		int arity = -1;
+		int i = 0;
+		for (Object[] a : args) {
+			if (a.length != arity)
+				call = Invoker.forArity(arity = a.length);
+			results[i++] = call.invoke(fn, a);
+		}
+		return results;
+	}
+
+	/**
+	 * <p>Call the function with each array of arguments in the specified pool.
+	 *
+	 * <p>Dynamic bindings of the calling thread are conveyed to the threads of the pool.
+	 */
+	static Object[] invokeAll(IFn fn, List<Object[]> args, ForkJoinPool pool) {
+		List<Object[]> rows = args instanceof RandomAccess ? args : new ArrayList<>(args);
+		Object[] results = new Object[rows.size()];
+		int threshold = Math.max(1, rows.size() / (pool.getParallelism() * TASKS_PER_THREAD));
+		pool.invoke(new BatchTask(fn, rows, results, 0, rows.size(), threshold, Var.cloneThreadBindingFrame()));
+		return results;
+	}
+
+	/**
+	 * Call the function with each array of arguments lazily, while results are consumed
+	 */
+	static Iterator<Object> invokeEach(IFn fn, Iterator<Object[]> args) {
+		return new Iterator<Object>() {
+
+			private Invoker.Call call;
+			private int arity = -1;
+
+			@Override
+			public boolean hasNext() {
+				return args.hasNext();
+			}
+
+			@Override
+			public Object next() {
+				Object[] a = args.next();
+				if (a.length != arity)
+					call = Invoker.forArity(arity = a.length);
+				return call.invoke(fn, a);
+			}
+		};
+	}
+
+	private static final class BatchTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final IFn fn;
+		private final List<Object[]> args;
+		private final Object[] results;
+		private final int from;
+		private final int to;
+		private final int threshold;
+		private final Object frame;
+
+		BatchTask(IFn fn, List<Object[]> args, Object[] results, int from, int to, int threshold, Object frame) {
+			this.fn = fn;
+			this.args = args;
+			this.results = results;
+			this.from = from;
+			this.to = to;
+			this.threshold = threshold;
+			this.frame = frame;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from > threshold) {
+				int mid = (from + to) >>> 1;
+				invokeAll(new BatchTask(fn, args, results, from, mid, threshold, frame),
+						new BatchTask(fn, args, results, mid, to, threshold, frame));
+				return;
+			}
+			Object previous = Var.getThreadBindingFrame();
+			Var.resetThreadBindingFrame(frame);
+			try {
+				Invoker.Call call = null;
+				int arity = -1;
+				for (int i = from; i < to; i++) {
+					Object[] a = args.get(i);
+					if (a.length != arity)
+						call = Invoker.forArity(arity = a.length);
+					results[i] = call.invoke(fn, a);
+				}
+			} finally {
+				Var.resetThreadBindingFrame(previous);
+			}
+		}
+	}
+}
@@ -0,0 +1,347 @@
+package com.vsubhuman.clj;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import clojure.lang.IPersistentMap;
+import clojure.lang.Keyword;
+import clojure.lang.PersistentArrayMap;
+import clojure.lang.RT;
+import clojure.lang.Util;
+
+/**
+ * <p>Converter of java beans and records into clojure maps, and of clojure maps into records.
+ *
+ * <p>Properties of each class are introspected once, into a plan of method handles cached by the class,
+ * so conversion itself performs no reflection. Properties are keyed by kebab-cased keywords
+ * (e.g. `firstName` by `:first-name`). Records are read thru their components,
+ * beans - thru their public getters (`getX`, and `isX` returning boolean).
+ *
+ * <p>Property values are converted recursively: records and beans of non-JDK classes are converted into maps
+ * (objects of `java.`, `javax.` and `jdk.` packages are kept as they are),
+ * collections are converted the way {@link DataConverter} does. Object graphs are expected to be acyclic.
+ *
+ * <p>Records are supported only when running on java 16+, they're detected reflectively.
+ *
+ * @see UberClj#fromBean(Object)
+ * @see UberClj#toRecord(Class, Map)
+ */
+final class BeanConverter {
+
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+	private static final MethodType READER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+	private static final Method IS_RECORD = method(Class.class, "isRecord");
+	private static final Method RECORD_COMPONENTS = method(Class.class, "getRecordComponents");
+
+	private static final ClassValue<Reader> READERS = new ClassValue<Reader>() {
+		@Override
+		protected Reader computeValue(Class<?> type) {
+			return reader(type);
+		}
+	};
+
+	private static final ClassValue<Writer> WRITERS = new ClassValue<Writer>() {
+		@Override
+		protected Writer computeValue(Class<?> type) {
+			return writer(type);
+		}
+	};
+
+	private BeanConverter() {
+	}
+
+	/**
+	 * Convert properties of the specified bean (or record) into a map
+	 */
+	static IPersistentMap fromBean(Object bean) {
+		return READERS.get(bean.getClass()).read(bean);
+	}
+
+	/**
+	 * @throws IllegalArgumentException in case the specified object is not a record
+	 */
+	static IPersistentMap fromRecord(Object record) {
+		Reader reader = READERS.get(record.getClass());
+		if (!reader.record)
+			throw new IllegalArgumentException("Not a record: " + record.getClass().getName());
+		return reader.read(record);
+	}
+
+	/**
+	 * @throws IllegalArgumentException in case the specified class is not a record
+	 */
+	static <R> R toRecord(Class<R> type, Object map) {
+		return type.cast(WRITERS.get(type).write(map));
+	}
+
+	/**
+	 * Convert the specified value into a map if it's a record or a bean, otherwise return it as it is
+	 */
+	static Object nested(Object value) {
+		Reader reader = READERS.get(value.getClass());
+		return reader.nested ? reader.read(value) : value;
+	}
+
+	/**
+	 * Plan reading properties of a class
+	 */
+	private static final class Reader {
+
+		final boolean record;
+		final boolean nested;
+		final Keyword[] keys;
+		final MethodHandle[] getters;
+
+		Reader(boolean record, boolean nested, Keyword[] keys, MethodHandle[] getters) {
+			this.record = record;
+			this.nested = nested;
+			this.keys = keys;
+			this.getters = getters;
+		}
+
+		IPersistentMap read(Object bean) {
+			int n = keys.length;
+			try {
+				if (n <= CljMapBuilder.ARRAY_MAP_SIZE) {
+					// Keys are distinct, so the entries array is adopted as it is
+					Object[] entries = new Object[n * 2];
+					for (int i = 0; i < n; i++) {
+						entries[i * 2] = keys[i];
+						entries[i * 2 + 1] = DataConverter.toClj((Object) getters[i].invokeExact(bean), true);
+					}
+					return new PersistentArrayMap(entries);
+				}
+				CljMapBuilder builder = new CljMapBuilder(n);
+				for (int i = 0; i < n; i++)
+					builder.put(keys[i], DataConverter.toClj((Object) getters[i].invokeExact(bean), true));
+				return builder.build();
+			} catch (Throwable t) {
+				throw Util.sneakyThrow(t);
+			}
+		}
+	}
+
+	/**
+	 * Plan creating a record thru its canonical constructor
+	 */
+	private static final class Writer {
+
+		final Keyword[] keys;
+		final Class<?>[] records;
+		final MethodHandle constructor;
+
+		/*
+		 * Types of components that are records themselves are kept,
+		 * to create nested records from nested maps
+		 */
+		Writer(Keyword[] keys, Class<?>[] records, MethodHandle constructor) {
+			this.keys = keys;
+			this.records = records;
+			this.constructor = constructor;
+		}
+
+		Object write(Object map) {
+			Object[] args = new Object[keys.length];
+			for (int i = 0; i < args.length; i++) {
+				Object val = RT.get(map, keys[i]);
+				if (records[i] != null && val instanceof Map)
+					val = WRITERS.get(records[i]).write(val);
+				args[i] = val;
+			}
+			try {
+				return (Object) constructor.invokeExact(args);
+			} catch (Throwable t) {
+				throw Util.sneakyThrow(t);
+			}
+		}
+	}
+
+	private static Reader reader(Class<?> type) {
+		if (isRecord(type)) {
+			Object[] components = (Object[]) invoke(RECORD_COMPONENTS, type);
+			Keyword[] keys = new Keyword[components.length];
+			MethodHandle[] getters = new MethodHandle[components.length];
+			for (int i = 0; i < components.length; i++) {
+				keys[i] = key((String) invoke(method(components[i].getClass(), "getName"), components[i]));
+				getters[i] = getter((Method) invoke(method(components[i].getClass(), "getAccessor"), components[i]));
+			}
+			return new Reader(true, true, keys, getters);
+		}
+
+		List<Method> methods = new ArrayList<>();
+		for (Method m : type.getMethods())
+			if (property(m) != null)
+				methods.add(m);
+		methods.sort(Comparator.comparing(BeanConverter::property));
+		boolean bean = isBean(type);
+		Keyword[] keys = new Keyword[methods.size()];
+		MethodHandle[] getters = new MethodHandle[methods.size()];
+		for (int i = 0; i < keys.length; i++) {
+			keys[i] = key(property(methods.get(i)));
+			try {
+				getters[i] = getter(methods.get(i));
+			} catch (IllegalArgumentException e) {
+				// Internal JDK classes are never read as nested beans anyway
+				if (bean)
+					throw e;
+				return new Reader(false, false, new Keyword[0], new MethodHandle[0]);
+			}
+		}
+		return new Reader(false, bean && keys.length > 0, keys, getters);
+	}
+
+	private static Writer writer(Class<?> type) {
+		if (!isRecord(type))
+			throw new IllegalArgumentException("Not a record: " + type.getName());
+		Object[] components = (Object[]) invoke(RECORD_COMPONENTS, type);
+		Keyword[] keys = new Keyword[components.length];
+		Class<?>[] types = new Class<?>[components.length];
+		for (int i = 0; i < components.length; i++) {
+			keys[i] = key((String) invoke(method(components[i].getClass(), "getName"), components[i]));
+			types[i] = (Class<?>) invoke(method(components[i].getClass(), "getType"), components[i]);
+		}
+		try {
+			Constructor<?> c = type.getDeclaredConstructor(types);
+			MethodHandle constructor = LOOKUP.unreflectConstructor(accessible(c));
+			MethodHandle[] casts = new MethodHandle[types.length];
+			for (int i = 0; i < types.length; i++)
+				casts[i] = cast(types[i]);
+			constructor = MethodHandles.filterArguments(constructor, 0, casts);
+			constructor = constructor.asType(constructor.type().changeReturnType(Object.class))
+					.asSpreader(Object[].class, types.length);
+			Class<?>[] records = new Class<?>[types.length];
+			for (int i = 0; i < types.length; i++)
+				records[i] = isRecord(types[i]) ? types[i] : null;
+			return new Writer(keys, records, constructor);
+		} catch (NoSuchMethodException | IllegalAccessException e) {
+			throw new IllegalArgumentException("Cannot access constructor of: " + type.getName(), e);
+		}
+	}
+
+	/*
+	 * Clojure numbers are longs and doubles, so primitive components are converted the way clojure casts them.
+	 * Missing values of primitive components are zeros.
+	 */
+	private static MethodHandle cast(Class<?> type) throws NoSuchMethodException, IllegalAccessException {
+		if (!type.isPrimitive())
+			return MethodHandles.identity(Object.class).asType(MethodType.methodType(type, Object.class));
+		String name = type == boolean.class ? "booleanCast" : "to" + Character.toUpperCase(type.getName().charAt(0))
+				+ type.getName().substring(1);
+		Class<?> owner = type == boolean.class ? RT.class : BeanConverter.class;
+		return LOOKUP.findStatic(owner, name, MethodType.methodType(type, Object.class));
+	}
+
+	static long toLong(Object val) {
+		return val == null ? 0 : RT.longCast(val);
+	}
+
+	static int toInt(Object val) {
+		return val == null ? 0 : RT.intCast(val);
+	}
+
+	static short toShort(Object val) {
+		return val == null ? 0 : RT.shortCast(val);
+	}
+
+	static byte toByte(Object val) {
+		return val == null ? 0 : RT.byteCast(val);
+	}
+
+	static char toChar(Object val) {
+		return val == null ? 0 : RT.charCast(val);
+	}
+
+	static double toDouble(Object val) {
+		return val == null ? 0 : RT.doubleCast(val);
+	}
+
+	static float toFloat(Object val) {
+		return val == null ? 0 : RT.floatCast(val);
+	}
+
+	private static MethodHandle getter(Method m) {
+		try {
+			return LOOKUP.unreflect(accessible(m)).asType(READER_TYPE);
+		} catch (IllegalAccessException e) {
+			throw new IllegalArgumentException("Cannot access property: " + m, e);
+		}
+	}
+
+	/*
+	 * Public members of non-public classes are accessible only this way
+	 */
+	private static <T extends AccessibleObject> T accessible(T member) {
+		try {
+			member.setAccessible(true);
+		} catch (RuntimeException e) {
+			// Not opened, public members are still accessible
+		}
+		return member;
+	}
+
+	/**
+	 * Name of the property read by the specified method, or `null` in case it's not a getter
+	 */
+	private static String property(Method m) {
+		if (Modifier.isStatic(m.getModifiers()) || m.getParameterCount() > 0 || m.isBridge()
+				|| m.getDeclaringClass() == Object.class)
+			return null;
+		String name = m.getName();
+		int prefix = name.startsWith("get") && m.getReturnType() != void.class ? 3
+				: name.startsWith("is") && m.getReturnType() == boolean.class ? 2 : 0;
+		if (prefix == 0 || name.length() == prefix || !Character.isUpperCase(name.charAt(prefix)))
+			return null;
+		// Same as java beans do: `getURL` reads `URL` property, but `getUrl` reads `url`
+		if (name.length() > prefix + 1 && Character.isUpperCase(name.charAt(prefix + 1)))
+			return name.substring(prefix);
+		return Character.toLowerCase(name.charAt(prefix)) + name.substring(prefix + 1);
+	}
+
+	private static Keyword key(String property) {
+		return KeyCache.keyword(Binder.kebab(property));
+	}
+
+	/*
+	 * Nested objects of JDK and clojure classes (e.g. strings, numbers, dates and clojure types) are never converted.
+	 * Since java 9 some JDK classes (e.g. `java.sql.Timestamp`) are loaded by the platform class loader,
+	 * so JDK packages are excluded by name, not only by the bootstrap class loader.
+	 */
+	private static boolean isBean(Class<?> type) {
+		if (type.getClassLoader() == null || type.isEnum() || type.isArray())
+			return false;
+		String name = type.getName();
+		return !name.startsWith("java.") && !name.startsWith("javax.") && !name.startsWith("jdk.")
+				&& !name.startsWith("sun.") && !name.startsWith("com.sun.") && !name.startsWith("clojure.");
+	}
+
+	private static boolean isRecord(Class<?> type) {
+		return IS_RECORD != null && (Boolean) invoke(IS_RECORD, type);
+	}
+
+	private static Method method(Class<?> type, String name) {
+		try {
+			return type.getMethod(name);
+		} catch (NoSuchMethodException e) {
+			return null;
+		}
+	}
+
+	private static Object invoke(Method m, Object target) {
+		try {
+			return accessible(m).invoke(target);
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -0,0 +1,476 @@
+package com.vsubhuman.clj;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import clojure.asm.ClassWriter;
+import clojure.asm.Label;
+import clojure.asm.MethodVisitor;
+import clojure.asm.Opcodes;
+import clojure.asm.Type;
+import clojure.lang.AFunction;
+import clojure.lang.ArraySeq;
+import clojure.lang.IDeref;
+import clojure.lang.IFn;
+import clojure.lang.ISeq;
+import clojure.lang.Namespace;
+import clojure.lang.RT;
+import clojure.lang.RestFn;
+import clojure.lang.Symbol;
+import clojure.lang.Var;
+
+/**
+ * <p>Generator of interface implementations backed by namespace functions.
+ *
+ * <p>A class is generated for each binding, where each method calls `invoke` of its var directly,
+ * so there's no reflection and no lookups on calls.
+ * Handles of the vars (see {@link RootFn}) are stored in the generated object and read on each call,
+ * so redefinitions of the functions and reloads of the namespace are visible.
+ * No watches are added to the vars, so bound objects hold no resources and may be simply dropped.
+ *
+ * <p>Vars are never interned by binding, methods are bound only to the vars defined in the namespace itself.
+ * All the functions are checked at bind time: var must be bound to a function
+ * accepting the number of arguments of the method.
+ * When the function implements a primitive interface matching the signature of the method
+ * (e.g. `IFn.LL` for `long m(long)`) - `invokePrim` is called without boxing,
+ * as long as the var is bound to a function implementing it.
+ *
+ * @see UberClj#bind(Class, String)
+ * @see CljNamespace#bind(Class)
+ * @see CljNamespace#as(Class, String)
+ */
+final class Binder implements Opcodes {
+
+	private static final AtomicInteger COUNTER = new AtomicInteger();
+
+	/**
+	 * Classes generated by {@link #adapt(Class, Method, IFn)}, by primitive interface they call
+	 */
+	private static final ClassValue<ConcurrentMap<Class<?>, Class<?>>> ADAPTERS = new ClassValue<ConcurrentMap<Class<?>, Class<?>>>() {
+		@Override
+		protected ConcurrentMap<Class<?>, Class<?>> computeValue(Class<?> type) {
+			return new ConcurrentHashMap<>();
+		}
+	};
+
+	private static final String LIVE = Type.getInternalName(IDeref.class);
+	private static final String IFN = Type.getInternalName(IFn.class);
+	private static final String OBJECT = Type.getInternalName(Object.class);
+	private static final String LIVE_DESC = Type.getDescriptor(IDeref.class);
+	private static final String IFN_DESC = Type.getDescriptor(IFn.class);
+
+	private Binder() {
+	}
+
+	/**
+	 * <p>Create implementation of the specified interface calling functions of the specified namespace.
+	 *
+	 * <p>Abstract methods are bound to the functions with the kebab-cased name of the method,
+	 * or the name specified by the {@link CljFn} annotation.
+	 * Default methods are bound only if the namespace defines such function.
+	 *
+	 * @throws IllegalArgumentException in case specified class is not a public interface,
+	 * or a function doesn't accept the number of arguments of its method
+	 * @throws NoSuchElementException in case there's no function bound for an abstract method
+	 */
+	static <T> T bind(Class<T> iface, CljNamespace ns) {
+		if (!iface.isInterface() || !Modifier.isPublic(iface.getModifiers()))
+			throw new IllegalArgumentException("Public interface expected: " + iface.getName());
+
+		List<Method> methods = new ArrayList<>();
+		List<RootFn> fns = new ArrayList<>();
+		VarCache cache = VarCache.of(ns.name);
+		Namespace namespace = Namespace.find(Symbol.intern(ns.name));
+		List<Class<?>> prims = new ArrayList<>();
+		for (Method m : methods(iface)) {
+			String name = name(m);
+			// Vars are only looked up, interning a missing var would shadow a referred one (e.g. `first`)
+			Var var = namespace != null ? namespace.findInternedVar(Symbol.intern(name)) : null;
+			if (var == null || !var.isBound()) {
+				if (m.isDefault())
+					continue;
+				throw new NoSuchElementException("No function bound for " + m + ": " + ns.name + "/" + name);
+			}
+			Object fn = var.deref();
+			if (!(fn instanceof IFn) || var.isMacro())
+				throw new IllegalArgumentException("Not a function: " + ns.name + "/" + name);
+			if (!accepts((IFn) fn, m.getParameterCount()))
+				throw new IllegalArgumentException("Wrong number of args (" + m.getParameterCount()
+						+ ") accepted by " + ns.name + "/" + name + " bound for " + m);
+			methods.add(m);
+			fns.add(new RootFn(cache, name));
+			prims.add(primInterface(fn, m));
+		}
+
+		return iface.cast(newInstance(define(iface, methods, prims, true), fns.toArray()));
+	}
+
+	/**
+	 * <p>Create implementation of the specified functional interface calling the specified function.
+	 *
+	 * <p>Unlike {@link #bind(Class, CljNamespace)} the function itself is stored in the implementation,
+	 * and `invokePrim` is called without a check, if the function implements matching primitive interface.
+	 * Generated classes are cached per interface and primitive interface, since they don't depend on the function.
+	 *
+	 * @throws IllegalArgumentException in case the function doesn't accept the number of arguments of the method
+	 */
+	static <T> T adapt(Class<T> iface, Method m, IFn fn) {
+		if (!accepts(fn, m.getParameterCount()))
+			throw new IllegalArgumentException("Wrong number of args (" + m.getParameterCount()
+					+ ") accepted by " + fn + " adapted to " + m);
+		Class<?> prim = primInterface(fn, m);
+		Class<?> c = ADAPTERS.get(iface).computeIfAbsent(prim != null ? prim : IFn.class,
+				k -> define(iface, Collections.singletonList(m), Collections.singletonList(prim), false));
+		return iface.cast(newInstance(c, new Object[]{ fn }));
+	}
+
+	private static Class<?> define(Class<?> iface, List<Method> methods, List<Class<?>> prims, boolean live) {
+		String className = Binder.class.getName() + "$" + iface.getSimpleName() + "$" + COUNTER.incrementAndGet();
+		byte[] bytes = generate(className.replace('.', '/'), iface, methods, prims, live);
+		return new Loader(iface.getClassLoader()).define(className, bytes);
+	}
+
+	private static Object newInstance(Class<?> c, Object[] fns) {
+		try {
+			return c.getConstructor(Object[].class).newInstance((Object) fns);
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException("Failed to instantiate " + c.getName(), e);
+		}
+	}
+
+	/*
+	 * Bindable methods of the interface, methods declared by `Object` are left to the `Object` implementation
+	 */
+	private static Iterable<Method> methods(Class<?> iface) {
+		Map<String, Method> methods = new LinkedHashMap<>();
+		for (Method m : iface.getMethods()) {
+			if (Modifier.isStatic(m.getModifiers()) || isObjectMethod(m))
+				continue;
+			String key = m.getName() + Type.getMethodDescriptor(m);
+			methods.putIfAbsent(key.substring(0, key.indexOf(')')), m);
+		}
+		return methods.values();
+	}
+
+	static boolean isObjectMethod(Method m) {
+		try {
+			return Modifier.isPublic(Object.class.getMethod(m.getName(), m.getParameterTypes()).getModifiers());
+		} catch (NoSuchMethodException e) {
+			return false;
+		}
+	}
+
+	private static String name(Method m) {
+		CljFn fn = m.getAnnotation(CljFn.class);
+		return fn != null ? fn.value() : kebab(m.getName());
+	}
+
+	/**
+	 * Convert camel-cased name to the kebab-cased one (e.g. `parseURLString` to `parse-url-string`)
+	 */
+	static String kebab(String name) {
+		StringBuilder sb = new StringBuilder(name.length() + 4);
+		for (int i = 0; i < name.length(); i++) {
+			char c = name.charAt(i);
+			if (Character.isUpperCase(c)) {
+				boolean afterLower = i > 0 && !Character.isUpperCase(name.charAt(i - 1));
+				boolean beforeLower = i > 0 && i + 1 < name.length() && Character.isLowerCase(name.charAt(i + 1));
+				if (afterLower || beforeLower)
+					sb.append('-');
+				sb.append(Character.toLowerCase(c));
+			} else {
+				sb.append(c);
+			}
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * <p>Check whether the function accepts the specified number of arguments.
+	 *
+	 * <p>Arities are known only for compiled functions, all other callables (e.g. keywords) are expected to accept any.
+	 */
+	static boolean accepts(IFn fn, int arity) {
+		if (!(fn instanceof AFunction))
+			return true;
+		if (fn instanceof RestFn && arity >= ((RestFn) fn).getRequiredArity())
+			return true;
+		for (Method m : fn.getClass().getDeclaredMethods())
+			if (m.getName().equals("invoke") && m.getParameterCount() == arity && !m.isVarArgs())
+				return true;
+		return false;
+	}
+
+	/*
+	 * Primitive interface (e.g. `IFn.LD`) matching signature of the method, if the function implements it
+	 */
+	static Class<?> primInterface(Object fn, Method m) {
+		if (m.getParameterCount() > 4)
+			return null;
+		StringBuilder sig = new StringBuilder();
+		for (Class<?> c : m.getParameterTypes())
+			sig.append(primCode(c));
+		sig.append(m.getReturnType() == void.class ? 'O' : primCode(m.getReturnType()));
+		if (sig.indexOf("?") >= 0 || (sig.indexOf("L") < 0 && sig.indexOf("D") < 0))
+			return null;
+		for (Class<?> c : IFn.class.getClasses())
+			if (c.getSimpleName().equals(sig.toString()))
+				return c.isInstance(fn) ? c : null;
+		return null;
+	}
+
+	private static char primCode(Class<?> c) {
+		if (c == long.class)
+			return 'L';
+		if (c == double.class)
+			return 'D';
+		return c.isPrimitive() ? '?' : 'O';
+	}
+
+	/*
+	 * Live implementations store var handles and call their current values,
+	 * otherwise function values are stored and called directly
+	 */
+	private static byte[] generate(String name, Class<?> iface, List<Method> methods, List<Class<?>> prims, boolean live) {
+		String fieldDesc = live ? LIVE_DESC : IFN_DESC;
+		ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+		cw.visit(V1_6, ACC_PUBLIC | ACC_FINAL | ACC_SUPER, name, null, OBJECT,
+				new String[]{ Type.getInternalName(iface) });
+
+		for (int i = 0; i < methods.size(); i++)
+			cw.visitField(ACC_PRIVATE | ACC_FINAL, "fn" + i, fieldDesc, null, null).visitEnd();
+
+		MethodVisitor init = cw.visitMethod(ACC_PUBLIC, "<init>", "([Ljava/lang/Object;)V", null, null);
+		init.visitCode();
+		init.visitVarInsn(ALOAD, 0);
+		init.visitMethodInsn(INVOKESPECIAL, OBJECT, "<init>", "()V");
+		for (int i = 0; i < methods.size(); i++) {
+			init.visitVarInsn(ALOAD, 0);
+			init.visitVarInsn(ALOAD, 1);
+			push(init, i);
+			init.visitInsn(AALOAD);
+			init.visitTypeInsn(CHECKCAST, live ? LIVE : IFN);
+			init.visitFieldInsn(PUTFIELD, name, "fn" + i, fieldDesc);
+		}
+		init.visitInsn(RETURN);
+		init.visitMaxs(0, 0);
+		init.visitEnd();
+
+		for (int i = 0; i < methods.size(); i++)
+			generateMethod(cw, name, "fn" + i, methods.get(i), prims.get(i), live);
+
+		cw.visitEnd();
+		return cw.toByteArray();
+	}
+
+	/*
+	 * Live, with primitive interface:
+	 *   IFn f = (IFn) root.deref();
+	 *   if (f instanceof IFn.LL) return ((IFn.LL) f).invokePrim(a);
+	 *   return RT.longCast(f.invoke(Long.valueOf(a)));
+	 * Live, otherwise:
+	 *   return RT.longCast(((IFn) root.deref()).invoke(Long.valueOf(a)));
+	 * Function value, with primitive interface:
+	 *   return ((IFn.LL) fn).invokePrim(a);
+	 * Function value, otherwise:
+	 *   return RT.longCast(fn.invoke(Long.valueOf(a)));
+	 */
+	private static void generateMethod(ClassWriter cw, String owner, String field, Method m, Class<?> prim, boolean live) {
+		Type[] args = Type.getArgumentTypes(m);
+		Type ret = Type.getReturnType(m);
+		MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, m.getName(), Type.getMethodDescriptor(m), null, null);
+		mv.visitCode();
+		mv.visitVarInsn(ALOAD, 0);
+		mv.visitFieldInsn(GETFIELD, owner, field, live ? LIVE_DESC : IFN_DESC);
+		if (live) {
+			mv.visitMethodInsn(INVOKEINTERFACE, LIVE, "deref", "()Ljava/lang/Object;");
+			mv.visitTypeInsn(CHECKCAST, IFN);
+		}
+
+		if (prim != null) {
+			int local = 1;
+			for (Type t : args)
+				local += t.getSize();
+			String primName = Type.getInternalName(prim);
+			Label generic = new Label();
+			if (live) {
+				mv.visitVarInsn(ASTORE, local);
+				mv.visitVarInsn(ALOAD, local);
+				mv.visitTypeInsn(INSTANCEOF, primName);
+				mv.visitJumpInsn(IFEQ, generic);
+				mv.visitVarInsn(ALOAD, local);
+			}
+			mv.visitTypeInsn(CHECKCAST, primName);
+			StringBuilder desc = new StringBuilder("(");
+			int slot = 1;
+			for (Type t : args) {
+				mv.visitVarInsn(t.getOpcode(ILOAD), slot);
+				slot += t.getSize();
+				desc.append(t.getSort() == Type.OBJECT || t.getSort() == Type.ARRAY ? "Ljava/lang/Object;" : t.getDescriptor());
+			}
+			Type primRet = ret.getSort() == Type.LONG || ret.getSort() == Type.DOUBLE ? ret : Type.getType(Object.class);
+			desc.append(')').append(primRet.getDescriptor());
+			mv.visitMethodInsn(INVOKEINTERFACE, primName, "invokePrim", desc.toString());
+			if (primRet.getSort() == Type.OBJECT)
+				castReturn(mv, ret);
+			mv.visitInsn(ret.getOpcode(IRETURN));
+			if (!live) {
+				mv.visitMaxs(0, 0);
+				mv.visitEnd();
+				return;
+			}
+			mv.visitLabel(generic);
+			mv.visitVarInsn(ALOAD, local);
+			invoke(mv, args);
+		} else {
+			invoke(mv, args);
+		}
+		castReturn(mv, ret);
+		mv.visitInsn(ret.getOpcode(IRETURN));
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+	}
+
+	/*
+	 * Call `invoke` (or `applyTo` for more than 20 arguments) of the function on stack with boxed arguments
+	 */
+	private static void invoke(MethodVisitor mv, Type[] args) {
+		if (args.length > Invoker.MAX_FIXED_ARITY) {
+			push(mv, args.length);
+			mv.visitTypeInsn(ANEWARRAY, OBJECT);
+			int slot = 1;
+			for (int i = 0; i < args.length; i++) {
+				mv.visitInsn(DUP);
+				push(mv, i);
+				mv.visitVarInsn(args[i].getOpcode(ILOAD), slot);
+				slot += args[i].getSize();
+				box(mv, args[i]);
+				mv.visitInsn(AASTORE);
+			}
+			mv.visitMethodInsn(INVOKESTATIC, Type.getInternalName(ArraySeq.class), "create",
+					"([Ljava/lang/Object;)" + Type.getDescriptor(ArraySeq.class));
+			mv.visitMethodInsn(INVOKEINTERFACE, IFN, "applyTo",
+					"(" + Type.getDescriptor(ISeq.class) + ")Ljava/lang/Object;");
+			return;
+		}
+		StringBuilder desc = new StringBuilder("(");
+		int slot = 1;
+		for (Type t : args) {
+			mv.visitVarInsn(t.getOpcode(ILOAD), slot);
+			slot += t.getSize();
+			box(mv, t);
+			desc.append("Ljava/lang/Object;");
+		}
+		mv.visitMethodInsn(INVOKEINTERFACE, IFN, "invoke", desc.append(")Ljava/lang/Object;").toString());
+	}
+
+	private static void box(MethodVisitor mv, Type t) {
+		Class<?> wrapper;
+		switch (t.getSort()) {
+		case Type.BOOLEAN:
+			wrapper = Boolean.class;
+			break;
+		case Type.CHAR:
+			wrapper = Character.class;
+			break;
+		case Type.BYTE:
+			wrapper = Byte.class;
+			break;
+		case Type.SHORT:
+			wrapper = Short.class;
+			break;
+		case Type.INT:
+			wrapper = Integer.class;
+			break;
+		case Type.FLOAT:
+			wrapper = Float.class;
+			break;
+		case Type.LONG:
+			wrapper = Long.class;
+			break;
+		case Type.DOUBLE:
+			wrapper = Double.class;
+			break;
+		default:
+			return;
+		}
+		String internal = Type.getInternalName(wrapper);
+		mv.visitMethodInsn(INVOKESTATIC, internal, "valueOf", "(" + t.getDescriptor() + ")L" + internal + ";");
+	}
+
+	/*
+	 * Convert `Object` on stack to the return type, the same way clojure converts function results
+	 */
+	private static void castReturn(MethodVisitor mv, Type ret) {
+		String rt = Type.getInternalName(RT.class);
+		switch (ret.getSort()) {
+		case Type.VOID:
+			mv.visitInsn(POP);
+			return;
+		case Type.OBJECT:
+		case Type.ARRAY:
+			if (!ret.getDescriptor().equals("Ljava/lang/Object;"))
+				mv.visitTypeInsn(CHECKCAST, ret.getInternalName());
+			return;
+		case Type.BOOLEAN:
+			mv.visitMethodInsn(INVOKESTATIC, rt, "booleanCast", "(Ljava/lang/Object;)Z");
+			return;
+		case Type.CHAR:
+			mv.visitMethodInsn(INVOKESTATIC, rt, "charCast", "(Ljava/lang/Object;)C");
+			return;
+		case Type.BYTE:
+			mv.visitMethodInsn(INVOKESTATIC, rt, "byteCast", "(Ljava/lang/Object;)B");
+			return;
+		case Type.SHORT:
+			mv.visitMethodInsn(INVOKESTATIC, rt, "shortCast", "(Ljava/lang/Object;)S");
+			return;
+		case Type.INT:
+			mv.visitMethodInsn(INVOKESTATIC, rt, "intCast", "(Ljava/lang/Object;)I");
+			return;
+		case Type.FLOAT:
+			mv.visitMethodInsn(INVOKESTATIC, rt, "floatCast", "(Ljava/lang/Object;)F");
+			return;
+		case Type.LONG:
+			mv.visitMethodInsn(INVOKESTATIC, rt, "longCast", "(Ljava/lang/Object;)J");
+			return;
+		case Type.DOUBLE:
+			mv.visitMethodInsn(INVOKESTATIC, rt, "doubleCast", "(Ljava/lang/Object;)D");
+			return;
+		}
+	}
+
+	private static void push(MethodVisitor mv, int value) {
+		if (value <= 5)
+			mv.visitInsn(ICONST_0 + value);
+		else
+			mv.visitIntInsn(value <= Byte.MAX_VALUE ? BIPUSH : SIPUSH, value);
+	}
+
+	/**
+	 * Loader of generated classes, seeing classes of the interface and of the clojure runtime
+	 */
+	private static final class Loader extends ClassLoader {
+
+		Loader(ClassLoader parent) {
+			super(parent);
+		}
+
+		Class<?> define(String name, byte[] bytes) {
+			return defineClass(name, bytes, 0, bytes.length);
+		}
+
+		@Override
+		protected Class<?> findClass(String name) throws ClassNotFoundException {
+			return Class.forName(name, false, Binder.class.getClassLoader());
+		}
+	}
+}
@@ -0,0 +1,88 @@
+package com.vsubhuman.clj;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import clojure.lang.Var;
+
+/**
+ * <p>Asynchronous execution of clojure code.
+ * 
+ * <p>Dynamic bindings of the calling thread are conveyed to the thread executing the task,
+ * the same way clojure `future` does it, so code executed asynchronously sees the same bindings.
+ * 
+ * <p>Default executor uses virtual threads, when running on JDK 21 or later.
+ * On older JDKs a cached pool of daemon threads is used.
+ * Default executor may be replaced by {@link #setDefaultExecutor(Executor)}.
+ * 
+ * @see UberClj#callAsync(String, String, Object...)
+ * @see CljNamespace#callAsync(String, Object...)
+ */
+public final class CljAsync {
+
+	private static volatile Executor executor;
+
+	private CljAsync() {
+	}
+
+	private static final class DefaultExecutor {
+		static final Executor EXECUTOR = create();
+
+		private static Executor create() {
+			try {
+				MethodHandle virtual = MethodHandles.publicLookup().findStatic(Executors.class,
+						"newVirtualThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class));
+				return (Executor) virtual.invoke();
+			} catch (Throwable e) {
+				AtomicInteger count = new AtomicInteger();
+				return Executors.newCachedThreadPool(r -> {
+					Thread thread = new Thread(r, "clj-async-" + count.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				});
+			}
+		}
+	}
+
+	/**
+	 * Acquire the executor used for asynchronous calls when no executor is specified explicitly
+	 */
+	public static Executor defaultExecutor() {
+		Executor e = executor;
+		return e != null ? e : DefaultExecutor.EXECUTOR;
+	}
+
+	/**
+	 * Replace the executor used for asynchronous calls when no executor is specified explicitly
+	 */
+	public static void setDefaultExecutor(Executor executor) {
+		CljAsync.executor = Objects.requireNonNull(executor);
+	}
+
+	/**
+	 * <p>Execute the specified supplier in the specified executor.
+	 * 
+	 * <p>Dynamic bindings of the calling thread are installed in the executing thread
+	 * for the time of execution, and previous bindings of the executing thread are restored after it.
+	 */
+	public static <T> CompletableFuture<T> supply(Supplier<T> supplier, Executor executor) {
+		Object frame = Var.cloneThreadBindingFrame();
+		return CompletableFuture.supplyAsync(() -> {
+			Object previous = Var.getThreadBindingFrame();
+			Var.resetThreadBindingFrame(frame);
+			try {
+				return supplier.get();
+			} finally {
+				Var.resetThreadBindingFrame(previous);
+			}
+		}, executor);
+	}
+}
@@ -0,0 +1,170 @@
+package com.vsubhuman.clj;
+
+import java.util.Collection;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+import clojure.lang.Atom;
+import clojure.lang.IDeref;
+import clojure.lang.Var;
+
+/**
+ * <p>Typed handle of a clojure atom, updated by java functions.
+ *
+ * <p>Updates are performed by the same compare-and-set loop `swap!` performs
+ * (validators and watches of the atom are applied), but without looking up and applying clojure functions.
+ * Each failed compare-and-set is counted, so contention on the atom may be monitored by {@link #retryCount()}.
+ * Update functions may be called multiple times under contention, so they should be free of side effects.
+ *
+ * <p>The atom is read from the root of its var on each update, and the var is revalidated against
+ * the version of its namespace (see {@link CljNamespace#version()}), so when the var is redefined
+ * (e.g. the namespace is reloaded) the handle updates the new atom.
+ *
+ * <p>For state updated from many threads at once, see {@link CljStripedAtom}.
+ *
+ * @see CljNamespace#atom(String)
+ * @see UberClj#atom(String, String)
+ */
+public final class CljAtom<T> implements IDeref, Supplier<T> {
+
+	private final VarCache cache;
+	private final String name;
+
+	private final LongAdder swaps = new LongAdder();
+	private final LongAdder retries = new LongAdder();
+
+	/*
+	 * Resolved var, replaced under the lock when the version of the namespace is changed
+	 */
+	private volatile Var var;
+	private volatile int version;
+
+	/**
+	 * @throws NoSuchElementException in case the var is not bound
+	 * @throws IllegalArgumentException in case the var is not bound to an atom
+	 */
+	CljAtom(VarCache cache, String name) {
+		this.cache = cache;
+		this.name = name;
+		this.version = cache.version();
+		this.var = cache.get(name);
+		if (!(UberClj.value(var) instanceof Atom))
+			throw new IllegalArgumentException("Var is not bound to an atom: " + var.ns + "/" + var.sym);
+	}
+
+	/**
+	 * The clojure atom currently bound to the var
+	 * 
+	 * @throws IllegalStateException in case the var is redefined to a value other than an atom
+	 */
+	public Atom atom() {
+		if (version != cache.version())
+			revalidate();
+		Object root = var.getRawRoot();
+		if (!(root instanceof Atom))
+			throw new IllegalStateException("Var is not bound to an atom anymore: " + var.ns + "/" + var.sym);
+		return (Atom) root;
+	}
+
+	private synchronized void revalidate() {
+		int current = cache.version();
+		var = cache.get(name);
+		version = current;
+	}
+
+	/**
+	 * Current value of the atom
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public T get() {
+		return (T) atom().deref();
+	}
+
+	@Override
+	public Object deref() {
+		return atom().deref();
+	}
+
+	/**
+	 * <p>Atomically replace value of the atom with the result of the specified function applied to it.
+	 *
+	 * @return the new value
+	 */
+	@SuppressWarnings("unchecked")
+	public T swap(UnaryOperator<T> f) {
+		Atom atom = atom();
+		for (;;) {
+			Object v = atom.deref();
+			T newv = f.apply((T) v);
+			if (atom.compareAndSet(v, newv)) {
+				swaps.increment();
+				return newv;
+			}
+			retries.increment();
+		}
+	}
+
+	/**
+	 * <p>Atomically replace value of the atom with the result of all the specified functions applied to it in order.
+	 *
+	 * <p>All the updates are applied by a single compare-and-set, so watches are notified once,
+	 * and under contention the whole batch is retried instead of each update.
+	 *
+	 * @return the new value
+	 */
+	@SuppressWarnings("unchecked")
+	public T swapAll(Collection<? extends UnaryOperator<T>> fs) {
+		Atom atom = atom();
+		for (;;) {
+			Object v = atom.deref();
+			T newv = (T) v;
+			for (UnaryOperator<T> f : fs)
+				newv = f.apply(newv);
+			if (atom.compareAndSet(v, newv)) {
+				swaps.increment();
+				return newv;
+			}
+			retries.increment();
+		}
+	}
+
+	/**
+	 * Atomically set value of the atom to the new value, in case its current value is identical to the expected
+	 */
+	public boolean compareAndSet(T expected, T newv) {
+		if (atom().compareAndSet(expected, newv)) {
+			swaps.increment();
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Set value of the atom to the new value, regardless of the current value
+	 */
+	public void reset(T newv) {
+		atom().reset(newv);
+	}
+
+	/**
+	 * Number of successful updates performed thru this handle
+	 */
+	public long swapCount() {
+		return swaps.sum();
+	}
+
+	/**
+	 * Number of compare-and-set attempts failed due to concurrent updates and retried thru this handle
+	 */
+	public long retryCount() {
+		return retries.sum();
+	}
+
+	@Override
+	public String toString() {
+		return "#<atom " + deref() + ">";
+	}
+}
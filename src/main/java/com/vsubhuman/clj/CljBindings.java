@@ -0,0 +1,116 @@
+package com.vsubhuman.clj;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+import clojure.lang.PersistentArrayMap;
+import clojure.lang.Var;
+
+/**
+ * <p>Template of thread bindings of dynamic vars of a namespace, that are established for each call
+ * with new values.
+ *
+ * <p>Vars are resolved (and checked to be dynamic) once, when the template is created,
+ * so each call only pairs vars with their values and pushes them as a new binding frame,
+ * without resolving vars or building a hash map:
+ * <pre>
+ * 	CljBindings request = ns.bindings("*request-id*", "*config*");
+ * 	...
+ * 	Object response = request.call(() -&gt; ns.call("handle", req), requestId, config);
+ * </pre>
+ *
+ * <p>Vars are resolved again in case the namespace is reloaded or vars are unmapped thru the interop API.
+ * Template is thread-safe, and is expected to be created once and reused.
+ *
+ * @see CljNamespace#bindings(String...)
+ * @see CljNamespace#withBindings(Map, Supplier)
+ */
+public final class CljBindings {
+
+	private final VarCache cache;
+	private final String[] names;
+
+	private volatile Resolved resolved;
+
+	CljBindings(VarCache cache, String[] names) {
+		this.cache = cache;
+		this.names = names.clone();
+		this.resolved = resolve();
+	}
+
+	/**
+	 * Vars resolved at a version of the namespace
+	 */
+	private static final class Resolved {
+
+		final int version;
+		final Var[] vars;
+
+		Resolved(int version, Var[] vars) {
+			this.version = version;
+			this.vars = vars;
+		}
+	}
+
+	private Resolved resolve() {
+		int version = cache.version();
+		Var[] vars = new Var[names.length];
+		for (int i = 0; i < names.length; i++)
+			vars[i] = dynamic(cache.get(names[i]));
+		return new Resolved(version, vars);
+	}
+
+	/**
+	 * <p>Call the specified body with the template vars bound to the specified values (in the order of the names),
+	 * bindings are removed when the body returns or throws.
+	 *
+	 * @throws IllegalArgumentException in case number of values doesn't match number of vars,
+	 * or in case a var isn't dynamic anymore
+	 */
+	public <T> T call(Supplier<T> body, Object... values) {
+		Resolved r = resolved;
+		if (r.version != cache.version())
+			resolved = r = resolve();
+		Var[] vars = r.vars;
+		if (values.length != vars.length)
+			throw new IllegalArgumentException(
+					"Expected " + vars.length + " binding values, but got: " + values.length);
+		Object[] entries = new Object[vars.length * 2];
+		for (int i = 0; i < vars.length; i++) {
+			entries[i * 2] = vars[i];
+			entries[i * 2 + 1] = values[i];
+		}
+		return with(entries, body);
+	}
+
+	/**
+	 * Call the specified body with the vars of the specified names bound to the mapped values
+	 */
+	static <T> T with(VarCache cache, Map<String, ?> bindings, Supplier<T> body) {
+		Object[] entries = new Object[bindings.size() * 2];
+		int i = 0;
+		for (Map.Entry<String, ?> e : bindings.entrySet()) {
+			entries[i++] = dynamic(cache.get(e.getKey()));
+			entries[i++] = e.getValue();
+		}
+		return with(entries, body);
+	}
+
+	/*
+	 * Vars are distinct, so the entries are adopted by an array map without checking keys
+	 */
+	private static <T> T with(Object[] entries, Supplier<T> body) {
+		Var.pushThreadBindings(new PersistentArrayMap(entries));
+		try {
+			return body.get();
+		} finally {
+			Var.popThreadBindings();
+		}
+	}
+
+	private static Var dynamic(Var var) {
+		if (!var.isDynamic())
+			throw new IllegalArgumentException("Var is not dynamic: " + var.ns + "/" + var.sym);
+		return var;
+	}
+}
@@ -0,0 +1,83 @@
+package com.vsubhuman.clj;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * <p>Specification of a memoizing cache of function results.
+ * 
+ * <p>Spec is immutable, each modifying method returns a new spec, e.g.:
+ * <pre>
+ * 	CljCacheSpec spec = CljCacheSpec.maximumSize(10_000).expireAfterWrite(Duration.ofMinutes(5));
+ * </pre>
+ * 
+ * @see CljNamespace#memoized(String, CljCacheSpec)
+ * @see CljMemoFn
+ */
+public final class CljCacheSpec {
+
+	/**
+	 * Max number of independently locked segments of a cache
+	 */
+	private static final int MAX_SEGMENTS = 16;
+
+	/**
+	 * Min number of entries in a segment, smaller caches are not segmented
+	 */
+	private static final int MIN_SEGMENT_SIZE = 32;
+
+	final int maximumSize;
+	final long expireAfterWriteNanos;
+	final LongSupplier ticker;
+
+	private CljCacheSpec(int maximumSize, long expireAfterWriteNanos, LongSupplier ticker) {
+		this.maximumSize = maximumSize;
+		this.expireAfterWriteNanos = expireAfterWriteNanos;
+		this.ticker = ticker;
+	}
+
+	/**
+	 * <p>Create spec of a cache holding at most the specified number of entries.
+	 * 
+	 * <p>When the cache is full, the least recently used entries are evicted.
+	 * 
+	 * @throws IllegalArgumentException in case size is not positive
+	 */
+	public static CljCacheSpec maximumSize(int maximumSize) {
+		if (maximumSize <= 0)
+			throw new IllegalArgumentException("Positive maximum size expected: " + maximumSize);
+		return new CljCacheSpec(maximumSize, 0, System::nanoTime);
+	}
+
+	/**
+	 * <p>Create spec of the same cache, where each entry expires after the specified time since it was computed.
+	 * 
+	 * @throws IllegalArgumentException in case duration is not positive
+	 */
+	public CljCacheSpec expireAfterWrite(Duration ttl) {
+		if (ttl.isNegative() || ttl.isZero())
+			throw new IllegalArgumentException("Positive duration expected: " + ttl);
+		return new CljCacheSpec(maximumSize, ttl.toNanos(), ticker);
+	}
+
+	/**
+	 * Create spec of the same cache, using the specified source of nano time
+	 */
+	CljCacheSpec ticker(LongSupplier ticker) {
+		return new CljCacheSpec(maximumSize, expireAfterWriteNanos, ticker);
+	}
+
+	/**
+	 * Number of independently locked segments, power of two
+	 */
+	int segments() {
+		int segments = Integer.highestOneBit(Math.max(1, maximumSize / MIN_SEGMENT_SIZE));
+		return Math.min(segments, MAX_SEGMENTS);
+	}
+
+	@Override
+	public String toString() {
+		return "CljCacheSpec{maximumSize=" + maximumSize
+				+ (expireAfterWriteNanos > 0 ? ", expireAfterWrite=" + Duration.ofNanos(expireAfterWriteNanos) : "") + "}";
+	}
+}
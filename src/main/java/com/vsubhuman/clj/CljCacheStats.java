@@ -0,0 +1,53 @@
+package com.vsubhuman.clj;
+
+/**
+ * <p>Snapshot of statistics of a memoizing cache.
+ * 
+ * @see CljMemoFn#stats()
+ */
+public final class CljCacheStats {
+
+	private final long hits;
+	private final long misses;
+	private final long evictions;
+
+	CljCacheStats(long hits, long misses, long evictions) {
+		this.hits = hits;
+		this.misses = misses;
+		this.evictions = evictions;
+	}
+
+	/**
+	 * Number of calls that returned a cached result
+	 */
+	public long hitCount() {
+		return hits;
+	}
+
+	/**
+	 * Number of calls that called the function
+	 */
+	public long missCount() {
+		return misses;
+	}
+
+	/**
+	 * Number of entries removed because the cache was full, or because they expired
+	 */
+	public long evictionCount() {
+		return evictions;
+	}
+
+	/**
+	 * Ratio of calls that returned a cached result, or `1.0` when there were no calls
+	 */
+	public double hitRate() {
+		long total = hits + misses;
+		return total == 0 ? 1.0 : (double) hits / total;
+	}
+
+	@Override
+	public String toString() {
+		return "CljCacheStats{hits=" + hits + ", misses=" + misses + ", evictions=" + evictions + "}";
+	}
+}
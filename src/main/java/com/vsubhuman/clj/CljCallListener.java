@@ -0,0 +1,29 @@
+package com.vsubhuman.clj;
+
+/**
+ * <p>Listener of function calls made thru the interop API, e.g. for tracing.
+ * 
+ * <p>Listeners are called in the calling thread, before and after each call,
+ * so `started` may be used to open a span (or put something into a thread local),
+ * and `finished` to close it. Listeners should be fast and should not throw.
+ * 
+ * <p>Listeners are called only if metrics are enabled (see {@link CljMetrics#ENABLED}).
+ * 
+ * @see CljMetrics#addListener(CljCallListener)
+ */
+public interface CljCallListener {
+
+	/**
+	 * Called right before the function is called
+	 */
+	default void started(String ns, String name) {
+	}
+
+	/**
+	 * Called right after the function returned or thrown
+	 * 
+	 * @param nanos duration of the call
+	 * @param error exception thrown by the function, or `null`
+	 */
+	void finished(String ns, String name, long nanos, Throwable error);
+}
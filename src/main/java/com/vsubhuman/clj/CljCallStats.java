@@ -0,0 +1,108 @@
+package com.vsubhuman.clj;
+
+import java.time.Duration;
+
+/**
+ * <p>Snapshot of statistics of calls of a single function.
+ * 
+ * <p>Percentiles are computed from a log-linear histogram,
+ * so they are accurate within about 6% of the value.
+ * 
+ * @see CljMetrics#snapshot()
+ */
+public final class CljCallStats {
+
+	private final String ns;
+	private final String name;
+	private final long count;
+	private final long errors;
+	private final long totalNanos;
+	private final long maxNanos;
+	private final long[] histogram;
+
+	CljCallStats(String ns, String name, long errors, long totalNanos, long maxNanos, long[] histogram) {
+		this.ns = ns;
+		this.name = name;
+		this.errors = errors;
+		this.totalNanos = totalNanos;
+		this.maxNanos = maxNanos;
+		this.histogram = histogram;
+		long count = 0;
+		for (long c : histogram)
+			count += c;
+		this.count = count;
+	}
+
+	/**
+	 * Namespace of the function
+	 */
+	public String ns() {
+		return ns;
+	}
+
+	/**
+	 * Name of the function var
+	 */
+	public String name() {
+		return name;
+	}
+
+	/**
+	 * Number of calls
+	 */
+	public long count() {
+		return count;
+	}
+
+	/**
+	 * Number of calls that thrown an exception
+	 */
+	public long errorCount() {
+		return errors;
+	}
+
+	/**
+	 * Total time spent in the calls
+	 */
+	public Duration totalTime() {
+		return Duration.ofNanos(totalNanos);
+	}
+
+	/**
+	 * Mean time of a call
+	 */
+	public Duration meanTime() {
+		return Duration.ofNanos(count == 0 ? 0 : totalNanos / count);
+	}
+
+	/**
+	 * Time of the longest call
+	 */
+	public Duration maxTime() {
+		return Duration.ofNanos(maxNanos);
+	}
+
+	/**
+	 * <p>Time not exceeded by the specified share of calls, e.g. `percentile(0.99)` for p99.
+	 * 
+	 * @throws IllegalArgumentException in case the share is not in range [0, 1]
+	 */
+	public Duration percentile(double share) {
+		if (!(share >= 0 && share <= 1))
+			throw new IllegalArgumentException("Share in range [0, 1] expected: " + share);
+		long rank = Math.max(1, (long) Math.ceil(share * count));
+		long seen = 0;
+		for (int i = 0; i < histogram.length; i++) {
+			seen += histogram[i];
+			if (seen >= rank)
+				return Duration.ofNanos(Math.min(LatencyHistogram.highest(i), maxNanos));
+		}
+		return Duration.ZERO;
+	}
+
+	@Override
+	public String toString() {
+		return ns + "/" + name + "{count=" + count + ", errors=" + errors + ", mean=" + meanTime()
+				+ ", p50=" + percentile(0.5) + ", p99=" + percentile(0.99) + ", max=" + maxTime() + "}";
+	}
+}
@@ -1,12 +1,21 @@
 package com.vsubhuman.clj;
 
-import clojure.java.api.Clojure;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
 import clojure.lang.IFn;
+import clojure.lang.IPersistentSet;
+import clojure.lang.Keyword;
+import clojure.lang.RT;
+import clojure.lang.Symbol;
 
 /**
  * <p>Wrapper over `clojure.core` namespace.
  * 
- * @see #NAMESPACE
+ * <p>Core functions are resolved lazily on the first use,
+ * so clojure runtime is not initialized until it's actually required.
+ * 
+ * @see #namespace()
  * @see #require(String)
  * @see #deref(Object)
  */
@@ -16,6 +25,9 @@ public final class CljCore {
 	 * This is the first level of bootstrapping.
 	 * CljNamespace uses `CljCore.require` in its constructor,
 	 * so `require` itself cannot be implemented thru namespace API.
+	 * 
+	 * Each function is held by a separate holder class,
+	 * so it's resolved only when the holder is touched for the first time.
 	 */
 	
 	/**
@@ -23,34 +35,117 @@ public final class CljCore {
 	 */
 	public static final String NAME = "clojure.core";
 	
+	/**
+	 * Names of the namespaces already required thru {@link #require(String)}
+	 */
+	private static final Set<String> REQUIRED = ConcurrentHashMap.newKeySet();
+
+	private static final Keyword RELOAD = Keyword.intern("reload");
+	
+	/*
+	 * Deprecated constants are initialized along with the class.
+	 * Only code that needs the runtime anyway (requiring namespaces and dereferencing values) touches this class,
+	 * so collection builders and other lazy paths still don't initialize it.
+	 */
+	
 	/**
 	 * Function to require a name-space to be loaded
 	 * 
-	 * @see #require(String)
-	 * @see UberClj#require(String)
+	 * @deprecated use {@link #requireFn()}
 	 */
-	public static final IFn REQUIRE_FN = UberClj.fn(NAME, "require");
+	@Deprecated
+	public static final IFn REQUIRE_FN = RequireFn.FN;
 	
 	/**
 	 * The core namespace.
+	 * 
+	 * @deprecated use {@link #namespace()}
 	 */
+	@Deprecated
 	public static final CljNamespace NAMESPACE = UberClj.require(NAME);
 	
 	/**
 	 * Function to dereference values from vars, atoms, refs, agents, etc.
 	 * 
-	 * @see #deref(Object)
+	 * @deprecated use {@link #derefFn()}
 	 */
-	public static final IFn DEREF_FN = NAMESPACE.fn("deref");
+	@Deprecated
+	public static final IFn DEREF_FN = DerefFn.FN;
+	
+	private static final class RequireFn {
+		static final IFn FN = UberClj.fn(NAME, "require");
+	}
+	
+	private static final class Namespace {
+		static final CljNamespace NS = UberClj.require(NAME);
+	}
+	
+	private static final class DerefFn {
+		static final IFn FN = UberClj.fn(NAME, "deref");
+	}
 	
 	private CljCore() {
 	}
 	
 	/**
-	 * Require the namespace with the specified name.
+	 * Function to require a name-space to be loaded
+	 * 
+	 * @see #require(String)
+	 * @see UberClj#require(String)
+	 */
+	public static IFn requireFn() {
+		return RequireFn.FN;
+	}
+	
+	/**
+	 * The core namespace.
+	 */
+	public static CljNamespace namespace() {
+		return Namespace.NS;
+	}
+	
+	/**
+	 * Function to dereference values from vars, atoms, refs, agents, etc.
+	 * 
+	 * @see #deref(Object)
+	 */
+	public static IFn derefFn() {
+		return DerefFn.FN;
+	}
+	
+	/**
+	 * <p>Require the namespace with the specified name.
+	 * 
+	 * <p>Namespaces required successfully are remembered,
+	 * so repeated requires of the same namespace don't call clojure `require` again.
 	 */
 	public static void require(String ns) {
-		REQUIRE_FN.invoke(Clojure.read(ns));
+		if (REQUIRED.contains(ns))
+			return;
+		RequireFn.FN.invoke(Symbol.intern(ns));
+		REQUIRED.add(ns);
+	}
+	
+	/**
+	 * <p>Require the namespace with the specified name with the `:reload` flag,
+	 * so the namespace is loaded again, even if it's already loaded.
+	 * 
+	 * <p>Vars of the namespace are redefined in place, so vars (and functions called thru them) stay usable
+	 * while the namespace is reloaded.
+	 */
+	public static void reload(String ns) {
+		RequireFn.FN.invoke(Symbol.intern(ns), RELOAD);
+		REQUIRED.add(ns);
+	}
+	
+	/**
+	 * Check whether the namespace with the specified name is already required or loaded by clojure
+	 */
+	static boolean isLoaded(String ns) {
+		if (REQUIRED.contains(ns))
+			return true;
+		IPersistentSet loaded = deref(RT.var(NAME, "*loaded-libs*").deref());
+		return loaded.contains(Symbol.intern(ns));
 	}
 	
 	/**
@@ -58,6 +153,6 @@ public final class CljCore {
 	 */
 	@SuppressWarnings("unchecked")
 	public static <T> T deref(Object val) {
-		return (T) DEREF_FN.invoke(val);
+		return (T) DerefFn.FN.invoke(val);
 	}
 }
\ No newline at end of file
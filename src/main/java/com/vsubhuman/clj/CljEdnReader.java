@@ -0,0 +1,153 @@
+package com.vsubhuman.clj;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PushbackReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import clojure.lang.EdnReader;
+import clojure.lang.IPersistentMap;
+import clojure.lang.Keyword;
+import clojure.lang.LineNumberingPushbackReader;
+import clojure.lang.PersistentArrayMap;
+
+/**
+ * <p>Incremental reader of top-level EDN forms from a UTF-8 source.
+ * 
+ * <p>Forms are read one by one as they are requested (thru the iterator, or a stream),
+ * so only the current form and fixed size buffers are held in memory, regardless of the size of the source.
+ * Files are read thru memory-mapped windows, channels - thru a decoding buffer.
+ * 
+ * <p>Reader should be closed when it's no longer used, closing it closes the source.
+ * 
+ * <p>Options are the same as for `clojure.edn/read`, e.g. `:readers` and `:default` for tagged literals
+ * (`:eof` is used internally and is ignored).
+ * 
+ * @see UberClj#readEdn(Path)
+ * @see UberClj#readEdnStream(ReadableByteChannel)
+ */
+public final class CljEdnReader implements Iterator<Object>, AutoCloseable {
+
+	private static final Keyword EOF_KEY = Keyword.intern("eof");
+
+	/**
+	 * Value returned by the reader at the end of the source
+	 */
+	private static final Object EOF = new Object();
+
+	private final PushbackReader reader;
+	private final IPersistentMap opts;
+
+	private Object next;
+	private boolean ready;
+
+	CljEdnReader(Reader reader, IPersistentMap opts) {
+		this.reader = new LineNumberingPushbackReader(reader);
+		this.opts = (opts != null ? opts : PersistentArrayMap.EMPTY).assoc(EOF_KEY, EOF);
+	}
+
+	/**
+	 * Open reader of the file at the specified path, with default options
+	 * 
+	 * @throws UncheckedIOException in case file cannot be opened
+	 */
+	public static CljEdnReader open(Path path) {
+		return open(path, null);
+	}
+
+	/**
+	 * Open reader of the file at the specified path, with the specified options
+	 * 
+	 * @throws UncheckedIOException in case file cannot be opened
+	 */
+	public static CljEdnReader open(Path path, IPersistentMap opts) {
+		return open(path, opts, MappedInputStream.WINDOW_SIZE);
+	}
+
+	static CljEdnReader open(Path path, IPersistentMap opts, int windowSize) {
+		try {
+			FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+			try {
+				MappedInputStream in = new MappedInputStream(channel, windowSize);
+				return new CljEdnReader(new InputStreamReader(in, StandardCharsets.UTF_8), opts);
+			} catch (IOException | RuntimeException e) {
+				channel.close();
+				throw e;
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Create reader of the specified channel, with default options
+	 */
+	public static CljEdnReader of(ReadableByteChannel channel) {
+		return of(channel, null);
+	}
+
+	/**
+	 * Create reader of the specified channel, with the specified options
+	 */
+	public static CljEdnReader of(ReadableByteChannel channel, IPersistentMap opts) {
+		return new CljEdnReader(Channels.newReader(channel, StandardCharsets.UTF_8.name()), opts);
+	}
+
+	/**
+	 * @throws clojure.lang.EdnReader.ReaderException in case the next form is malformed
+	 */
+	@Override
+	public boolean hasNext() {
+		if (!ready) {
+			next = EdnReader.read(reader, opts);
+			ready = true;
+		}
+		return next != EOF;
+	}
+
+	/**
+	 * @throws clojure.lang.EdnReader.ReaderException in case the next form is malformed
+	 */
+	@Override
+	public Object next() {
+		if (!hasNext())
+			throw new NoSuchElementException();
+		Object form = next;
+		next = null;
+		ready = false;
+		return form;
+	}
+
+	/**
+	 * Sequential stream of the remaining forms, closing the stream closes the reader
+	 */
+	public Stream<Object> stream() {
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED), false)
+				.onClose(this::close);
+	}
+
+	/**
+	 * @throws UncheckedIOException in case the source fails to close
+	 */
+	@Override
+	public void close() {
+		try {
+			reader.close();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
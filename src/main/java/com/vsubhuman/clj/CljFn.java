@@ -0,0 +1,27 @@
+package com.vsubhuman.clj;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p>Name of the function an interface method is bound to.
+ * 
+ * <p>By default a method is bound to the function with the kebab-cased name of the method
+ * (e.g. `getUserName` to `get-user-name`), this annotation may be used for names
+ * that cannot be derived that way (e.g. `valid?`).
+ * 
+ * @see UberClj#bind(Class, String)
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface CljFn {
+
+	/**
+	 * Name of the var in the bound namespace
+	 */
+	String value();
+}
@@ -0,0 +1,86 @@
+package com.vsubhuman.clj;
+
+import clojure.lang.IKeywordLookup;
+import clojure.lang.ILookup;
+import clojure.lang.ILookupThunk;
+import clojure.lang.Keyword;
+import clojure.lang.KeywordLookupSite;
+import clojure.lang.RT;
+
+/**
+ * <p>Lookup of a single keyword in maps and records, caching the way value is read from records.
+ *
+ * <p>Records are read the same way as keyword call sites in compiled clojure code do:
+ * when a record is met, lookup caches a thunk reading the record field directly,
+ * which is used while records of the same type are met.
+ * Maps (and other {@link ILookup} implementations) are read by their `valAt` directly,
+ * so they don't replace the cached thunk, and reading a map costs only the map probe.
+ * All other objects (e.g. java maps or `null`) are read by `RT.get`.
+ *
+ * <p>Reads with a `notFound` value are not cached, since record thunks cannot tell a missing key from `nil`,
+ * records are read by their `valAt` the same way as maps.
+ *
+ * <p>Lookup is thread-safe, and is expected to be created once and kept in a static field.
+ *
+ * @see UberClj#keyLookup(String)
+ */
+public final class CljKeyLookup {
+
+	private final Keyword key;
+	private final KeywordLookupSite site;
+
+	/*
+	 * Thunk of the last record type met, thunks are immutable, so racy updates only cause extra faults
+	 */
+	private ILookupThunk thunk;
+
+	CljKeyLookup(Keyword key) {
+		this.key = key;
+		this.site = new KeywordLookupSite(key);
+		this.thunk = site;
+	}
+
+	/**
+	 * Keyword looked up
+	 */
+	public Keyword key() {
+		return key;
+	}
+
+	/**
+	 * Read value of the keyword from the specified map or record,
+	 * or `null` in case there's no such key
+	 */
+	public Object get(Object target) {
+		if (target instanceof IKeywordLookup) {
+			ILookupThunk t = thunk;
+			Object val = t.get(target);
+			// Thunk returns itself when it cannot read the target
+			return val != t ? val : fault(target);
+		}
+		if (target instanceof ILookup)
+			return ((ILookup) target).valAt(key);
+		return RT.get(target, key);
+	}
+
+	/**
+	 * Read value of the keyword from the specified map or record,
+	 * or the `notFound` value in case there's no such key
+	 */
+	public Object get(Object target, Object notFound) {
+		if (target instanceof ILookup)
+			return ((ILookup) target).valAt(key, notFound);
+		return RT.get(target, key, notFound);
+	}
+
+	private Object fault(Object target) {
+		ILookupThunk t = site.fault(target);
+		thunk = t;
+		return t.get(target);
+	}
+
+	@Override
+	public String toString() {
+		return "CljKeyLookup[" + key + "]";
+	}
+}
@@ -0,0 +1,182 @@
+package com.vsubhuman.clj;
+
+import java.util.NoSuchElementException;
+
+import clojure.lang.AFn;
+import clojure.lang.IFn;
+import clojure.lang.ISeq;
+import clojure.lang.Var;
+
+/**
+ * <p>Function handle, always calling the current root value of its var.
+ * 
+ * <p>The root value is cached in a volatile field, and replaced by a var watch
+ * each time the var is redefined (e.g. from a REPL, or by reloading the namespace),
+ * so a call costs a volatile read and a version check in front of `invoke`,
+ * but unlike a plain {@link IFn} value the handle never becomes stale.
+ * If the var is unmapped and defined again - the new var is found on the next call after
+ * the namespace version is changed (see {@link CljNamespace#version()}).
+ * 
+ * <p><b>Note:</b> thread bindings of dynamic vars are not visible thru the handle, only the root value.
+ * 
+ * <p>Handle should be closed when it's no longer used, to remove the watch from the var.
+ * 
+ * @see CljLiveVar
+ * @see CljNamespace#liveFn(String)
+ * @see UberClj#liveFn(String, String)
+ */
+public final class CljLiveFn extends AFn implements AutoCloseable {
+
+	private final LiveRoot root;
+
+	CljLiveFn(VarCache cache, String name) {
+		Var var = cache.get(name);
+		if (!var.hasRoot())
+			throw new NoSuchElementException("No bound value found for: " + var.ns + "/" + var.sym);
+		if (!(var.getRawRoot() instanceof IFn))
+			throw new IllegalArgumentException("Not a function: " + var.ns + "/" + var.sym);
+		this.root = new LiveRoot(cache, name);
+	}
+
+	/**
+	 * Current var of the function
+	 */
+	public Var var() {
+		return root.var();
+	}
+
+	/**
+	 * Current root value of the var
+	 */
+	public IFn fn() {
+		return (IFn) root.get();
+	}
+
+	/**
+	 * Remove the watch from the var, the handle keeps calling the last value it has seen
+	 */
+	@Override
+	public void close() {
+		root.close();
+	}
+
+	@Override
+	public Object invoke() {
+		return fn().invoke();
+	}
+
+	@Override
+	public Object invoke(Object a1) {
+		return fn().invoke(a1);
+	}
+
+	@Override
+	public Object invoke(Object a1, Object a2) {
+		return fn().invoke(a1, a2);
+	}
+
+	@Override
+	public Object invoke(Object a1, Object a2, Object a3) {
+		return fn().invoke(a1, a2, a3);
+	}
+
+	@Override
+	public Object invoke(Object a1, Object a2, Object a3, Object a4) {
+		return fn().invoke(a1, a2, a3, a4);
+	}
+
+	@Override
+	public Object invoke(Object a1, Object a2, Object a3, Object a4, Object a5) {
+		return fn().invoke(a1, a2, a3, a4, a5);
+	}
+
+	@Override
+	public Object invoke(Object a1, Object a2, Object a3, Object a4, Object a5, Object a6) {
+		return fn().invoke(a1, a2, a3, a4, a5, a6);
+	}
+
+	@Override
+	public Object invoke(Object a1, Object a2, Object a3, Object a4, Object a5, Object a6, Object a7) {
+		return fn().invoke(a1, a2, a3, a4, a5, a6, a7);
+	}
+
+	@Override
+	public Object invoke(Object a1, Object a2, Object a3, Object a4, Object a5, Object a6, Object a7, Object a8) {
+		return fn().invoke(a1, a2, a3, a4, a5, a6, a7, a8);
+	}
+
+	@Override
+	public Object invoke(Object a1, Object a2, Object a3, Object a4, Object a5, Object a6, Object a7, Object a8, Object a9) {
+		return fn().invoke(a1, a2, a3, a4, a5, a6, a7, a8, a9);
+	}
+
+	@Override
+	public Object invoke(Object a1, Object a2, Object a3, Object a4, Object a5, Object a6, Object a7, Object a8, Object a9, Object a10) {
+		return fn().invoke(a1, a2, a3, a4, a5, a6, a7, a8, a9, a10);
+	}
+
+	@Override
+	public Object invoke(Object a1, Object a2, Object a3, Object a4, Object a5, Object a6, Object a7, Object a8, Object a9, Object a10, Object a11) {
+		return fn().invoke(a1, a2, a3, a4, a5, a6, a7, a8, a9, a10, a11);
+	}
+
+	@Override
+	public Object invoke(Object a1, Object a2, Object a3, Object a4, Object a5, Object a6, Object a7, Object a8, Object a9, Object a10, Object a11, Object a12) {
+		return fn().invoke(a1, a2, a3, a4, a5, a6, a7, a8, a9, a10, a11, a12);
+	}
+
+	@Override
+	public Object invoke(Object a1, Object a2, Object a3, Object a4, Object a5, Object a6, Object a7, Object a8, Object a9, Object a10, Object a11, Object a12, Object a13) {
+		return fn().invoke(a1, a2, a3, a4, a5, a6, a7, a8, a9, a10, a11, a12, a13);
+	}
+
+	@Override
+	public Object invoke(Object a1, Object a2, Object a3, Object a4, Object a5, Object a6, Object a7, Object a8, Object a9, Object a10, Object a11, Object a12, Object a13, Object a14) {
+		return fn().invoke(a1, a2, a3, a4, a5, a6, a7, a8, a9, a10, a11, a12, a13, a14);
+	}
+
+	@Override
+	public Object invoke(Object a1, Object a2, Object a3, Object a4, Object a5, Object a6, Object a7, Object a8, Object a9, Object a10, Object a11, Object a12, Object a13, Object a14, Object a15) {
+		return fn().invoke(a1, a2, a3, a4, a5, a6, a7, a8, a9, a10, a11, a12, a13, a14, a15);
+	}
+
+	@Override
+	public Object invoke(Object a1, Object a2, Object a3, Object a4, Object a5, Object a6, Object a7, Object a8, Object a9, Object a10, Object a11, Object a12, Object a13, Object a14, Object a15, Object a16) {
+		return fn().invoke(a1, a2, a3, a4, a5, a6, a7, a8, a9, a10, a11, a12, a13, a14, a15, a16);
+	}
+
+	@Override
+	public Object invoke(Object a1, Object a2, Object a3, Object a4, Object a5, Object a6, Object a7, Object a8, Object a9, Object a10, Object a11, Object a12, Object a13, Object a14, Object a15, Object a16, Object a17) {
+		return fn().invoke(a1, a2, a3, a4, a5, a6, a7, a8, a9, a10, a11, a12, a13, a14, a15, a16, a17);
+	}
+
+	@Override
+	public Object invoke(Object a1, Object a2, Object a3, Object a4, Object a5, Object a6, Object a7, Object a8, Object a9, Object a10, Object a11, Object a12, Object a13, Object a14, Object a15, Object a16, Object a17, Object a18) {
+		return fn().invoke(a1, a2, a3, a4, a5, a6, a7, a8, a9, a10, a11, a12, a13, a14, a15, a16, a17, a18);
+	}
+
+	@Override
+	public Object invoke(Object a1, Object a2, Object a3, Object a4, Object a5, Object a6, Object a7, Object a8, Object a9, Object a10, Object a11, Object a12, Object a13, Object a14, Object a15, Object a16, Object a17, Object a18, Object a19) {
+		return fn().invoke(a1, a2, a3, a4, a5, a6, a7, a8, a9, a10, a11, a12, a13, a14, a15, a16, a17, a18, a19);
+	}
+
+	@Override
+	public Object invoke(Object a1, Object a2, Object a3, Object a4, Object a5, Object a6, Object a7, Object a8, Object a9, Object a10, Object a11, Object a12, Object a13, Object a14, Object a15, Object a16, Object a17, Object a18, Object a19, Object a20) {
+		return fn().invoke(a1, a2, a3, a4, a5, a6, a7, a8, a9, a10, a11, a12, a13, a14, a15, a16, a17, a18, a19, a20);
+	}
+
+	@Override
+	public Object invoke(Object a1, Object a2, Object a3, Object a4, Object a5, Object a6, Object a7, Object a8, Object a9, Object a10, Object a11, Object a12, Object a13, Object a14, Object a15, Object a16, Object a17, Object a18, Object a19, Object a20, Object... args) {
+		return fn().invoke(a1, a2, a3, a4, a5, a6, a7, a8, a9, a10, a11, a12, a13, a14, a15, a16, a17, a18, a19, a20, args);
+	}
+
+	@Override
+	public Object applyTo(ISeq args) {
+		return fn().applyTo(args);
+	}
+
+	@Override
+	public String toString() {
+		return "#<live " + var() + ">";
+	}
+}
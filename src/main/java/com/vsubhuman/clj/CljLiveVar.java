@@ -0,0 +1,70 @@
+package com.vsubhuman.clj;
+
+import java.util.NoSuchElementException;
+import java.util.function.Supplier;
+
+import clojure.lang.IDeref;
+import clojure.lang.Var;
+
+/**
+ * <p>Handle of the current root value of a var.
+ * 
+ * <p>The root value is cached in a volatile field, and replaced by a var watch
+ * each time the var is redefined (e.g. from a REPL, or by reloading the namespace),
+ * so reading it costs a volatile read and a version check.
+ * If the var is unmapped and defined again - the new var is found on the next read after
+ * the namespace version is changed (see {@link CljNamespace#version()}).
+ * 
+ * <p><b>Note:</b> thread bindings of dynamic vars are not visible thru the handle, only the root value.
+ * 
+ * <p>Handle should be closed when it's no longer used, to remove the watch from the var.
+ * 
+ * @see CljLiveFn
+ * @see CljNamespace#liveVar(String)
+ * @see UberClj#liveVar(String, String)
+ */
+public final class CljLiveVar<T> implements IDeref, Supplier<T>, AutoCloseable {
+
+	private final LiveRoot root;
+
+	CljLiveVar(VarCache cache, String name) {
+		Var var = cache.get(name);
+		if (!var.hasRoot())
+			throw new NoSuchElementException("No bound value found for: " + var.ns + "/" + var.sym);
+		this.root = new LiveRoot(cache, name);
+	}
+
+	/**
+	 * Current var of the value
+	 */
+	public Var var() {
+		return root.var();
+	}
+
+	/**
+	 * Current root value of the var
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public T get() {
+		return (T) root.get();
+	}
+
+	@Override
+	public Object deref() {
+		return root.get();
+	}
+
+	/**
+	 * Remove the watch from the var, the handle keeps the last value it has seen
+	 */
+	@Override
+	public void close() {
+		root.close();
+	}
+
+	@Override
+	public String toString() {
+		return "#<live " + var() + ">";
+	}
+}
@@ -0,0 +1,91 @@
+package com.vsubhuman.clj;
+
+import java.util.Iterator;
+import java.util.Map;
+
+import clojure.lang.IPersistentMap;
+import clojure.lang.ITransientMap;
+import clojure.lang.PersistentArrayMap;
+import clojure.lang.PersistentHashMap;
+
+/**
+ * <p>Builder of a persistent map, backed by a clojure transient.
+ * 
+ * <p>Entries are added in place, without creating intermediate persistent maps,
+ * and the final map is created by {@link #build()} without copying.
+ * Small maps are built as array maps, which are switched to hash maps
+ * automatically when the number of entries grows.
+ * Builder cannot be used after the map is built.
+ * 
+ * @see UberClj#mapBuilder()
+ * @see UberClj#mapBuilder(int)
+ */
+public final class CljMapBuilder {
+
+	/**
+	 * Maximum expected size of a map to be built as an array map
+	 */
+	static final int ARRAY_MAP_SIZE = 8;
+
+	private ITransientMap map;
+
+	CljMapBuilder(int expectedSize) {
+		map = expectedSize <= ARRAY_MAP_SIZE
+				? PersistentArrayMap.EMPTY.asTransient()
+				: PersistentHashMap.EMPTY.asTransient();
+	}
+
+	/**
+	 * Associate the specified value with the specified key, previous value is replaced
+	 */
+	public CljMapBuilder put(Object key, Object value) {
+		map = map.assoc(key, value);
+		return this;
+	}
+
+	/**
+	 * Associate all the entries of the specified java map
+	 */
+	public CljMapBuilder putAll(Map<?, ?> entries) {
+		for (Map.Entry<?, ?> e : entries.entrySet())
+			map = map.assoc(e.getKey(), e.getValue());
+		return this;
+	}
+
+	/**
+	 * <p>Associate the even number of the specified elements,
+	 * where each first element is a key, and each second element is a value.
+	 * 
+	 * @throws IllegalArgumentException in case odd number of elements is passed
+	 */
+	public CljMapBuilder putAll(Object... elements) {
+		UberClj.assertMapSize(elements.length);
+		for (int i = 0; i < elements.length; i += 2)
+			map = map.assoc(elements[i], elements[i + 1]);
+		return this;
+	}
+
+	/**
+	 * <p>Associate the even number of the specified elements,
+	 * where each first element is a key, and each second element is a value.
+	 * 
+	 * @throws IllegalArgumentException in case odd number of elements is passed
+	 */
+	public CljMapBuilder putAll(Iterable<?> elements) {
+		Iterator<?> it = elements.iterator();
+		while (it.hasNext()) {
+			Object key = it.next();
+			if (!it.hasNext())
+				throw UberClj.oddMapSize();
+			map = map.assoc(key, it.next());
+		}
+		return this;
+	}
+
+	/**
+	 * Create the persistent map of all the added entries
+	 */
+	public IPersistentMap build() {
+		return map.persistent();
+	}
+}
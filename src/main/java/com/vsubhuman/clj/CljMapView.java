@@ -0,0 +1,176 @@
+package com.vsubhuman.clj;
+
+import java.util.Iterator;
+import java.util.Map;
+
+import clojure.lang.APersistentMap;
+import clojure.lang.IDeref;
+import clojure.lang.IFn;
+import clojure.lang.IKVReduce;
+import clojure.lang.IMapEntry;
+import clojure.lang.IObj;
+import clojure.lang.IPersistentCollection;
+import clojure.lang.IPersistentMap;
+import clojure.lang.ISeq;
+import clojure.lang.MapEntry;
+import clojure.lang.PersistentArrayMap;
+import clojure.lang.RT;
+
+/**
+ * <p>Read-only persistent map view over a java map.
+ *
+ * <p>The view doesn't copy the java map, all reads are delegated to it,
+ * so clojure code can read a java map as a regular clojure map.
+ * Nested java maps are also returned as views.
+ *
+ * <p>Modifying operations (`assoc`, `dissoc`, etc.) copy entries of the java map
+ * into a regular persistent map, and perform modification on it.
+ * The java map itself is never modified.
+ *
+ * <p>Java maps compare keys by `equals`, so e.g. an `Integer` key is not found by an equal `Long` one.
+ * Numeric keys not found in the java map are looked up in a persistent copy of it (made once, on the first such miss),
+ * which compares keys the way clojure does.
+ *
+ * <p><b>Note:</b> the java map should not be modified while the view is used,
+ * since persistent maps are expected to be immutable.
+ *
+ * @see UberClj#mapView(Map)
+ */
+public final class CljMapView extends APersistentMap implements IObj, IKVReduce {
+
+	private static final long serialVersionUID = 1L;
+
+	private final Map<?, ?> map;
+	private final IPersistentMap meta;
+
+	/*
+	 * Persistent copy of the map for lookups of numeric keys, made on the first miss
+	 */
+	private transient volatile IPersistentMap copy;
+
+	CljMapView(Map<?, ?> map, IPersistentMap meta) {
+		this.map = map;
+		this.meta = meta;
+	}
+
+	private static Object view(Object val) {
+		return val instanceof Map && !(val instanceof IPersistentMap)
+				? new CljMapView((Map<?, ?>) val, null) : val;
+	}
+
+	/**
+	 * Copy entries of the java map into a persistent map, nested java maps are copied as views
+	 */
+	IPersistentMap persistent() {
+		CljMapBuilder builder = new CljMapBuilder(map.size());
+		for (Map.Entry<?, ?> e : map.entrySet())
+			builder.put(e.getKey(), view(e.getValue()));
+		IPersistentMap copy = builder.build();
+		return meta != null ? (IPersistentMap) ((IObj) copy).withMeta(meta) : copy;
+	}
+
+	@Override
+	public IPersistentMap meta() {
+		return meta;
+	}
+
+	@Override
+	public CljMapView withMeta(IPersistentMap meta) {
+		return new CljMapView(map, meta);
+	}
+
+	/**
+	 * Entry of the numeric key missed in the java map, found by clojure equality
+	 */
+	private IMapEntry equivEntry(Object key) {
+		if (!(key instanceof Number))
+			return null;
+		IPersistentMap copy = this.copy;
+		if (copy == null)
+			this.copy = copy = persistent();
+		return copy.entryAt(key);
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return map.containsKey(key) || equivEntry(key) != null;
+	}
+
+	@Override
+	public IMapEntry entryAt(Object key) {
+		Object val = map.get(key);
+		return val != null || map.containsKey(key) ? MapEntry.create(key, view(val)) : equivEntry(key);
+	}
+
+	@Override
+	public Object valAt(Object key) {
+		return valAt(key, null);
+	}
+
+	@Override
+	public Object valAt(Object key, Object notFound) {
+		Object val = map.get(key);
+		if (val != null || map.containsKey(key))
+			return view(val);
+		IMapEntry e = equivEntry(key);
+		return e != null ? e.val() : notFound;
+	}
+
+	@Override
+	public int count() {
+		return map.size();
+	}
+
+	@Override
+	public ISeq seq() {
+		return map.isEmpty() ? null : RT.chunkIteratorSeq(iterator());
+	}
+
+	@Override
+	public Iterator<Object> iterator() {
+		Iterator<? extends Map.Entry<?, ?>> entries = map.entrySet().iterator();
+		return new Iterator<Object>() {
+
+			@Override
+			public boolean hasNext() {
+				return entries.hasNext();
+			}
+
+			@Override
+			public Object next() {
+				Map.Entry<?, ?> e = entries.next();
+				return MapEntry.create(e.getKey(), view(e.getValue()));
+			}
+		};
+	}
+
+	@Override
+	public Object kvreduce(IFn f, Object init) {
+		for (Map.Entry<?, ?> e : map.entrySet()) {
+			init = f.invoke(init, e.getKey(), view(e.getValue()));
+			if (RT.isReduced(init))
+				return ((IDeref) init).deref();
+		}
+		return init;
+	}
+
+	@Override
+	public IPersistentMap assoc(Object key, Object val) {
+		return persistent().assoc(key, val);
+	}
+
+	@Override
+	public IPersistentMap assocEx(Object key, Object val) {
+		return persistent().assocEx(key, val);
+	}
+
+	@Override
+	public IPersistentMap without(Object key) {
+		return containsKey(key) ? persistent().without(key) : this;
+	}
+
+	@Override
+	public IPersistentCollection empty() {
+		return PersistentArrayMap.EMPTY.withMeta(meta);
+	}
+}
@@ -0,0 +1,348 @@
+package com.vsubhuman.clj;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import clojure.lang.AFn;
+import clojure.lang.IFn;
+import clojure.lang.ISeq;
+import clojure.lang.RT;
+import clojure.lang.Util;
+import clojure.lang.Var;
+
+/**
+ * <p>Function wrapper caching results of the function by its arguments.
+ * 
+ * <p>Unlike `clojure.core/memoize` the number of cached results is bounded, least recently used results are evicted,
+ * and results may expire after a configured time (see {@link CljCacheSpec}).
+ * Arguments are compared with clojure equality (`=` and `hash`), so e.g. `1` and `1N` are the same argument.
+ * 
+ * <p>Cache is split into independently locked LRU segments, so concurrent calls contend only within a segment.
+ * The function is called outside of the lock, so concurrent calls with the same arguments
+ * may call the function more than once (the same way as `clojure.core/memoize` does).
+ * Exceptions thrown by the function are not cached.
+ * 
+ * <p>Cached results are dropped when the function is redefined (e.g. the namespace is reloaded),
+ * the root value of the var is checked on each call.
+ * 
+ * <p><b>Note:</b> function should be pure, and its arguments should not be modified after the call.
+ * 
+ * @see CljNamespace#memoized(String, CljCacheSpec)
+ * @see UberClj#memoized(String, String, CljCacheSpec)
+ */
+public final class CljMemoFn extends AFn {
+
+	private final VarCache cache;
+	private final String name;
+	private final Segment[] segments;
+	private final int mask;
+	private final int shift;
+	private final long expireAfterWriteNanos;
+	private final LongSupplier ticker;
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+
+	/*
+	 * Resolved var and the function results are cached for, replaced under the lock
+	 */
+	private volatile Var var;
+	private volatile IFn fn;
+	private volatile int version;
+
+	CljMemoFn(VarCache cache, String name, CljCacheSpec spec) {
+		this.cache = cache;
+		this.name = name;
+		this.version = cache.version();
+		this.var = cache.get(name);
+		this.fn = (IFn) UberClj.value(var);
+		int count = spec.segments();
+		this.segments = new Segment[count];
+		// Remainder of the maximum size is spread over the first segments, so the total is exact
+		for (int i = 0; i < count; i++)
+			segments[i] = new Segment(spec.maximumSize / count + (i < spec.maximumSize % count ? 1 : 0), evictions);
+		this.mask = count - 1;
+		this.shift = 32 - Integer.numberOfTrailingZeros(count);
+		this.expireAfterWriteNanos = spec.expireAfterWriteNanos;
+		this.ticker = spec.ticker;
+	}
+
+	/**
+	 * Snapshot of the statistics of the cache
+	 */
+	public CljCacheStats stats() {
+		return new CljCacheStats(hits.sum(), misses.sum(), evictions.sum());
+	}
+
+	/**
+	 * Number of cached results, including expired ones not yet removed
+	 */
+	public int size() {
+		int size = 0;
+		for (Segment segment : segments)
+			synchronized (segment) {
+				size += segment.size();
+			}
+		return size;
+	}
+
+	/**
+	 * Remove all cached results
+	 */
+	public void invalidateAll() {
+		for (Segment segment : segments)
+			synchronized (segment) {
+				segment.clear();
+			}
+	}
+
+	private Object lookup(Object[] args) {
+		IFn fn = this.fn;
+		if (version != cache.version() || var.getRawRoot() != fn)
+			fn = refresh();
+		Key key = new Key(args);
+		Segment segment = segment(key.hash);
+		long now = expireAfterWriteNanos > 0 ? ticker.getAsLong() : 0;
+		Result result;
+		synchronized (segment) {
+			result = segment.get(key);
+			if (result != null && expireAfterWriteNanos > 0 && now - result.expiresAt >= 0) {
+				segment.remove(key);
+				evictions.increment();
+				result = null;
+			}
+		}
+		if (result != null) {
+			hits.increment();
+			return result.value;
+		}
+		misses.increment();
+		Object value = Invoker.invoke(fn, args);
+		result = new Result(value, now + expireAfterWriteNanos);
+		// Result of a function redefined during the call is not cached:
+		// new function is published before segments are cleared, so the check is made under the segment lock,
+		// and a result put before the new function is published is cleared by the refresh afterwards
+		synchronized (segment) {
+			if (fn == this.fn)
+				segment.put(key, result);
+		}
+		return value;
+	}
+
+	/*
+	 * Each segment is a hash map selecting its buckets by the low bits of the hash,
+	 * so segments are selected by the high bits of the mixed hash, not to leave buckets of each segment unused.
+	 * For a single segment the shift is 32, which java ignores, and the mask selects the only segment.
+	 */
+	private Segment segment(int hash) {
+		return segments[(hash * 0x9E3779B9) >>> shift & mask];
+	}
+
+	/*
+	 * Resolve the var again, and drop cached results if the function was redefined
+	 */
+	private synchronized IFn refresh() {
+		int current = cache.version();
+		Var resolved = cache.get(name);
+		Object root = resolved.getRawRoot();
+		if (root != fn && root instanceof IFn) {
+			fn = (IFn) root;
+			invalidateAll();
+		}
+		var = resolved;
+		version = current;
+		return fn;
+	}
+
+	@Override
+	public Object invoke() {
+		return lookup(Invoker.NO_ARGS);
+	}
+
+	@Override
+	public Object invoke(Object a1) {
+		return lookup(new Object[]{ a1 });
+	}
+
+	@Override
+	public Object invoke(Object a1, Object a2) {
+		return lookup(new Object[]{ a1, a2 });
+	}
+
+	@Override
+	public Object invoke(Object a1, Object a2, Object a3) {
+		return lookup(new Object[]{ a1, a2, a3 });
+	}
+
+	@Override
+	public Object invoke(Object a1, Object a2, Object a3, Object a4) {
+		return lookup(new Object[]{ a1, a2, a3, a4 });
+	}
+
+	@Override
+	public Object invoke(Object a1, Object a2, Object a3, Object a4, Object a5) {
+		return lookup(new Object[]{ a1, a2, a3, a4, a5 });
+	}
+
+	@Override
+	public Object invoke(Object a1, Object a2, Object a3, Object a4, Object a5, Object a6) {
+		return lookup(new Object[]{ a1, a2, a3, a4, a5, a6 });
+	}
+
+	@Override
+	public Object invoke(Object a1, Object a2, Object a3, Object a4, Object a5, Object a6, Object a7) {
+		return lookup(new Object[]{ a1, a2, a3, a4, a5, a6, a7 });
+	}
+
+	@Override
+	public Object invoke(Object a1, Object a2, Object a3, Object a4, Object a5, Object a6, Object a7, Object a8) {
+		return lookup(new Object[]{ a1, a2, a3, a4, a5, a6, a7, a8 });
+	}
+
+	@Override
+	public Object invoke(Object a1, Object a2, Object a3, Object a4, Object a5, Object a6, Object a7, Object a8, Object a9) {
+		return lookup(new Object[]{ a1, a2, a3, a4, a5, a6, a7, a8, a9 });
+	}
+
+	@Override
+	public Object invoke(Object a1, Object a2, Object a3, Object a4, Object a5, Object a6, Object a7, Object a8, Object a9, Object a10) {
+		return lookup(new Object[]{ a1, a2, a3, a4, a5, a6, a7, a8, a9, a10 });
+	}
+
+	@Override
+	public Object invoke(Object a1, Object a2, Object a3, Object a4, Object a5, Object a6, Object a7, Object a8, Object a9, Object a10, Object a11) {
+		return lookup(new Object[]{ a1, a2, a3, a4, a5, a6, a7, a8, a9, a10, a11 });
+	}
+
+	@Override
+	public Object invoke(Object a1, Object a2, Object a3, Object a4, Object a5, Object a6, Object a7, Object a8, Object a9, Object a10, Object a11, Object a12) {
+		return lookup(new Object[]{ a1, a2, a3, a4, a5, a6, a7, a8, a9, a10, a11, a12 });
+	}
+
+	@Override
+	public Object invoke(Object a1, Object a2, Object a3, Object a4, Object a5, Object a6, Object a7, Object a8, Object a9, Object a10, Object a11, Object a12, Object a13) {
+		return lookup(new Object[]{ a1, a2, a3, a4, a5, a6, a7, a8, a9, a10, a11, a12, a13 });
+	}
+
+	@Override
+	public Object invoke(Object a1, Object a2, Object a3, Object a4, Object a5, Object a6, Object a7, Object a8, Object a9, Object a10, Object a11, Object a12, Object a13, Object a14) {
+		return lookup(new Object[]{ a1, a2, a3, a4, a5, a6, a7, a8, a9, a10, a11, a12, a13, a14 });
+	}
+
+	@Override
+	public Object invoke(Object a1, Object a2, Object a3, Object a4, Object a5, Object a6, Object a7, Object a8, Object a9, Object a10, Object a11, Object a12, Object a13, Object a14, Object a15) {
+		return lookup(new Object[]{ a1, a2, a3, a4, a5, a6, a7, a8, a9, a10, a11, a12, a13, a14, a15 });
+	}
+
+	@Override
+	public Object invoke(Object a1, Object a2, Object a3, Object a4, Object a5, Object a6, Object a7, Object a8, Object a9, Object a10, Object a11, Object a12, Object a13, Object a14, Object a15, Object a16) {
+		return lookup(new Object[]{ a1, a2, a3, a4, a5, a6, a7, a8, a9, a10, a11, a12, a13, a14, a15, a16 });
+	}
+
+	@Override
+	public Object invoke(Object a1, Object a2, Object a3, Object a4, Object a5, Object a6, Object a7, Object a8, Object a9, Object a10, Object a11, Object a12, Object a13, Object a14, Object a15, Object a16, Object a17) {
+		return lookup(new Object[]{ a1, a2, a3, a4, a5, a6, a7, a8, a9, a10, a11, a12, a13, a14, a15, a16, a17 });
+	}
+
+	@Override
+	public Object invoke(Object a1, Object a2, Object a3, Object a4, Object a5, Object a6, Object a7, Object a8, Object a9, Object a10, Object a11, Object a12, Object a13, Object a14, Object a15, Object a16, Object a17, Object a18) {
+		return lookup(new Object[]{ a1, a2, a3, a4, a5, a6, a7, a8, a9, a10, a11, a12, a13, a14, a15, a16, a17, a18 });
+	}
+
+	@Override
+	public Object invoke(Object a1, Object a2, Object a3, Object a4, Object a5, Object a6, Object a7, Object a8, Object a9, Object a10, Object a11, Object a12, Object a13, Object a14, Object a15, Object a16, Object a17, Object a18, Object a19) {
+		return lookup(new Object[]{ a1, a2, a3, a4, a5, a6, a7, a8, a9, a10, a11, a12, a13, a14, a15, a16, a17, a18, a19 });
+	}
+
+	@Override
+	public Object invoke(Object a1, Object a2, Object a3, Object a4, Object a5, Object a6, Object a7, Object a8, Object a9, Object a10, Object a11, Object a12, Object a13, Object a14, Object a15, Object a16, Object a17, Object a18, Object a19, Object a20) {
+		return lookup(new Object[]{ a1, a2, a3, a4, a5, a6, a7, a8, a9, a10, a11, a12, a13, a14, a15, a16, a17, a18, a19, a20 });
+	}
+
+	@Override
+	public Object invoke(Object a1, Object a2, Object a3, Object a4, Object a5, Object a6, Object a7, Object a8, Object a9, Object a10, Object a11, Object a12, Object a13, Object a14, Object a15, Object a16, Object a17, Object a18, Object a19, Object a20, Object... args) {
+		Object[] all = new Object[20 + args.length];
+		System.arraycopy(new Object[]{ a1, a2, a3, a4, a5, a6, a7, a8, a9, a10, a11, a12, a13, a14, a15, a16, a17, a18, a19, a20 }, 0, all, 0, 20);
+		System.arraycopy(args, 0, all, 20, args.length);
+		return lookup(all);
+	}
+
+	@Override
+	public Object applyTo(ISeq args) {
+		return lookup(args == null ? Invoker.NO_ARGS : RT.seqToArray(args));
+	}
+
+	/**
+	 * Arguments of a call, compared with clojure equality
+	 */
+	private static final class Key {
+
+		final Object[] args;
+		final int hash;
+
+		Key(Object[] args) {
+			this.args = args;
+			int hash = 1;
+			for (Object a : args)
+				hash = 31 * hash + Util.hasheq(a);
+			this.hash = hash;
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key))
+				return false;
+			Key other = (Key) obj;
+			if (hash != other.hash || args.length != other.args.length)
+				return false;
+			for (int i = 0; i < args.length; i++)
+				if (!Util.equiv(args[i], other.args[i]))
+					return false;
+			return true;
+		}
+	}
+
+	private static final class Result {
+
+		final Object value;
+		final long expiresAt;
+
+		Result(Object value, long expiresAt) {
+			this.value = value;
+			this.expiresAt = expiresAt;
+		}
+	}
+
+	/**
+	 * LRU map of results, guarded by its own monitor
+	 */
+	private static final class Segment extends LinkedHashMap<Key, Result> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int capacity;
+		private final transient LongAdder evictions;
+
+		Segment(int capacity, LongAdder evictions) {
+			super(16, 0.75f, true);
+			this.capacity = capacity;
+			this.evictions = evictions;
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Key, Result> eldest) {
+			if (size() <= capacity)
+				return false;
+			evictions.increment();
+			return true;
+		}
+	}
+}
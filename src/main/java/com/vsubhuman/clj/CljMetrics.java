@@ -0,0 +1,130 @@
+package com.vsubhuman.clj;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import clojure.lang.IFn;
+
+/**
+ * <p>Metrics of function calls made thru the interop API
+ * (`call` methods of {@link UberClj} and {@link CljNamespace}).
+ * 
+ * <p>Metrics are disabled by default, and may be enabled with the `com.vsubhuman.clj.metrics` system property,
+ * e.g. `-Dcom.vsubhuman.clj.metrics=true`. When disabled - the only overhead of a call is a check of a constant.
+ * 
+ * <p>When enabled - count, errors and a latency histogram are recorded (lock-free) for each function,
+ * and may be read as a snapshot with {@link #snapshot()}.
+ * Additional {@link CljCallListener}s may be registered, e.g. for tracing.
+ * 
+ * @see #ENABLED
+ * @see #snapshot()
+ * @see #addListener(CljCallListener)
+ */
+public final class CljMetrics {
+
+	/**
+	 * Whether calls are recorded, configured with the `com.vsubhuman.clj.metrics` system property
+	 */
+	public static final boolean ENABLED = Boolean.getBoolean("com.vsubhuman.clj.metrics");
+
+	private static final ConcurrentMap<String, ConcurrentMap<String, Recorder>> RECORDERS = new ConcurrentHashMap<>();
+
+	private static final CopyOnWriteArrayList<CljCallListener> LISTENERS = new CopyOnWriteArrayList<>();
+
+	private CljMetrics() {
+	}
+
+	/**
+	 * Register the specified listener, called for each recorded call
+	 */
+	public static void addListener(CljCallListener listener) {
+		LISTENERS.addIfAbsent(listener);
+	}
+
+	/**
+	 * Unregister the specified listener
+	 */
+	public static void removeListener(CljCallListener listener) {
+		LISTENERS.remove(listener);
+	}
+
+	/**
+	 * <p>Snapshot of the statistics of all called functions, by their `ns/name`.
+	 * 
+	 * <p>Statistics of each function are read without stopping the calls,
+	 * so concurrent calls may be partially included.
+	 */
+	public static SortedMap<String, CljCallStats> snapshot() {
+		SortedMap<String, CljCallStats> snapshot = new TreeMap<>();
+		for (Map.Entry<String, ConcurrentMap<String, Recorder>> ns : RECORDERS.entrySet())
+			for (Map.Entry<String, Recorder> fn : ns.getValue().entrySet())
+				snapshot.put(ns.getKey() + "/" + fn.getKey(), fn.getValue().stats(ns.getKey(), fn.getKey()));
+		return Collections.unmodifiableSortedMap(snapshot);
+	}
+
+	/**
+	 * Drop all recorded statistics
+	 */
+	public static void reset() {
+		RECORDERS.clear();
+	}
+
+	/**
+	 * Call the specified function of the specified namespace, recording the call
+	 */
+	static Object call(String ns, String name, IFn fn, Object[] args) {
+		for (CljCallListener listener : LISTENERS)
+			listener.started(ns, name);
+		Throwable error = null;
+		long start = System.nanoTime();
+		try {
+			return Invoker.invoke(fn, args);
+		} catch (Throwable t) {
+			error = t;
+			throw t;
+		} finally {
+			long nanos = System.nanoTime() - start;
+			recorder(ns, name).record(nanos, error);
+			for (CljCallListener listener : LISTENERS)
+				listener.finished(ns, name, nanos, error);
+		}
+	}
+
+	private static Recorder recorder(String ns, String name) {
+		ConcurrentMap<String, Recorder> fns = RECORDERS.get(ns);
+		if (fns == null)
+			fns = RECORDERS.computeIfAbsent(ns, k -> new ConcurrentHashMap<>());
+		Recorder recorder = fns.get(name);
+		return recorder != null ? recorder : fns.computeIfAbsent(name, k -> new Recorder());
+	}
+
+	/**
+	 * Statistics of a single function
+	 */
+	private static final class Recorder {
+
+		private final LongAdder errors = new LongAdder();
+		private final LongAdder totalNanos = new LongAdder();
+		private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+		private final LatencyHistogram histogram = new LatencyHistogram();
+
+		void record(long nanos, Throwable error) {
+			if (error != null)
+				errors.increment();
+			totalNanos.add(nanos);
+			maxNanos.accumulate(nanos);
+			histogram.record(nanos);
+		}
+
+		CljCallStats stats(String ns, String name) {
+			return new CljCallStats(ns, name, errors.sum(), totalNanos.sum(), maxNanos.get(), histogram.counts());
+		}
+	}
+}
@@ -1,10 +1,23 @@
 package com.vsubhuman.clj;
 
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.BiFunction;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongUnaryOperator;
 import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
 
 import clojure.lang.IFn;
 import clojure.lang.Var;
@@ -73,6 +86,8 @@ public final class CljNamespace {
 
 	public final String name;
 
+	private final VarCache vars;
+
 	/**
 	 * <p>Create namespace from the specified <b>full</b> name.
 	 * 
@@ -81,6 +96,35 @@ public final class CljNamespace {
 	public CljNamespace(String name) {
 		CljCore.require(name);
 		this.name = name;
+		this.vars = VarCache.of(name);
+	}
+
+	/**
+	 * <p>Load this namespace again (the same way as `(require ns :reload)`), and increment its version.
+	 * 
+	 * <p>Vars of the namespace are redefined in place, so functions stay callable while the namespace is reloaded.
+	 * Live handles, bound interfaces, and memoized functions created by this API switch to the new definitions.
+	 * 
+	 * <p><b>Note:</b> dependencies of the namespace are not reloaded, use {@link UberClj#reloadAll(Collection)}
+	 * to reload multiple namespaces in dependency order.
+	 * 
+	 * @see #version()
+	 */
+	public CljNamespace reload() {
+		CljCore.reload(name);
+		vars.invalidate();
+		return this;
+	}
+
+	/**
+	 * <p>Version of this namespace, incremented each time the namespace is reloaded, or its vars are unmapped
+	 * thru the interop API.
+	 * 
+	 * <p>Objects caching vars of the namespace compare it with the version they've seen,
+	 * and resolve their vars again when it's changed.
+	 */
+	public int version() {
+		return vars.version();
 	}
 
 	/**
@@ -91,7 +135,7 @@ public final class CljNamespace {
 	 * @see UberClj#var(String, String)
 	 */
 	public Var var(String name) {
-		return UberClj.var(this.name, name);
+		return vars.get(name);
 	}
 
 	/**
@@ -102,8 +146,9 @@ public final class CljNamespace {
 	 * @see #fn(String)
 	 * @see UberClj#value(String, String)
 	 */
+	@SuppressWarnings("unchecked")
 	public <T> T value(String name) {
-		return UberClj.<T>value(this.name, name);
+		return (T) UberClj.value(var(name));
 	}
 
 	/**
@@ -115,7 +160,54 @@ public final class CljNamespace {
 	 * @see UberClj#fn(String, String)
 	 */
 	public IFn fn(String name) {
-		return UberClj.fn(this.name, name);
+		return value(name);
+	}
+
+	/**
+	 * <p>Acquire the function and wrap it into a function caching its results by arguments,
+	 * in a bounded cache configured by the specified spec.
+	 * 
+	 * @throws NoSuchElementException in case no such var is bound
+	 * 
+	 * @see CljMemoFn
+	 * @see UberClj#memoized(String, String, CljCacheSpec)
+	 */
+	public CljMemoFn memoized(String name, CljCacheSpec spec) {
+		return new CljMemoFn(vars, name, spec);
+	}
+
+	/**
+	 * <p>Acquire handle of the var's root value, that is kept up to date when the var is redefined.
+	 * 
+	 * @throws NoSuchElementException in case no such var is bound
+	 * 
+	 * @see CljLiveVar
+	 * @see UberClj#liveVar(String, String)
+	 */
+	public <T> CljLiveVar<T> liveVar(String name) {
+		return new CljLiveVar<>(vars, name);
+	}
+
+	/**
+	 * <p>Acquire handle of the function, that always calls the current root value of the var.
+	 * 
+	 * @throws NoSuchElementException in case no such var is bound
+	 * @throws IllegalArgumentException in case the var is not bound to a function
+	 * 
+	 * @see CljLiveFn
+	 * @see UberClj#liveFn(String, String)
+	 */
+	public CljLiveFn liveFn(String name) {
+		return new CljLiveFn(vars, name);
+	}
+
+	/**
+	 * <p>Remove the mapping for the specified name from this namespace.
+	 * 
+	 * @see UberClj#unmap(String, String)
+	 */
+	public void unmap(String name) {
+		UberClj.unmap(this.name, name);
 	}
 
 	/**
@@ -134,14 +226,103 @@ public final class CljNamespace {
 	}
 
 	/**
-	 * Call function identified by the specified name with specified arguments.
+	 * <p>Acquire handle of the atom bound to the var identified by the specified name, to update it by java functions.
+	 * 
+	 * @throws NoSuchElementException in case no such var is bound
+	 * @throws IllegalArgumentException in case the var is not bound to an atom
+	 * 
+	 * @see CljAtom
+	 * @see UberClj#atom(String, String)
+	 */
+	public <T> CljAtom<T> atom(String name) {
+		return new CljAtom<>(vars, name);
+	}
+
+	/**
+	 * <p>Call function identified by the specified name with specified arguments.
+	 * 
+	 * <p>Up to 20 arguments are passed directly to the matching fixed arity of the function,
+	 * `applyTo` is used only for the larger number of arguments.
 	 * 
 	 * @throws NoSuchElementException in case no such var is bound
 	 * 
 	 * @see #call(String, Collection)
 	 */
+	@SuppressWarnings("unchecked")
 	public <T> T call(String name, Object... args) {
-		return UberClj.call(this.name, name, args);
+		if (CljMetrics.ENABLED)
+			return (T) CljMetrics.call(this.name, name, fn(name), args);
+		return (T) Invoker.invoke(fn(name), args);
+	}
+
+	/**
+	 * Call function identified by the specified name without arguments.
+	 * 
+	 * @throws NoSuchElementException in case no such var is bound
+	 * 
+	 * @see #call(String, Object...)
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T call(String name) {
+		if (CljMetrics.ENABLED)
+			return (T) CljMetrics.call(this.name, name, fn(name), Invoker.NO_ARGS);
+		return (T) fn(name).invoke();
+	}
+
+	/**
+	 * Call function identified by the specified name with a single argument.
+	 * 
+	 * @throws NoSuchElementException in case no such var is bound
+	 * 
+	 * @see #call(String, Object...)
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T call(String name, Object a) {
+		if (CljMetrics.ENABLED)
+			return (T) CljMetrics.call(this.name, name, fn(name), new Object[]{ a });
+		return (T) fn(name).invoke(a);
+	}
+
+	/**
+	 * Call function identified by the specified name with two arguments.
+	 * 
+	 * @throws NoSuchElementException in case no such var is bound
+	 * 
+	 * @see #call(String, Object...)
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T call(String name, Object a, Object b) {
+		if (CljMetrics.ENABLED)
+			return (T) CljMetrics.call(this.name, name, fn(name), new Object[]{ a, b });
+		return (T) fn(name).invoke(a, b);
+	}
+
+	/**
+	 * Call function identified by the specified name with three arguments.
+	 * 
+	 * @throws NoSuchElementException in case no such var is bound
+	 * 
+	 * @see #call(String, Object...)
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T call(String name, Object a, Object b, Object c) {
+		if (CljMetrics.ENABLED)
+			return (T) CljMetrics.call(this.name, name, fn(name), new Object[]{ a, b, c });
+		return (T) fn(name).invoke(a, b, c);
+	}
+
+	/**
+	 * Call function identified by the specified name with four arguments.
+	 * 
+	 * @throws NoSuchElementException in case no such var is bound
+	 * 
+	 * @see #call(String, Object...)
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T call(String name, Object a, Object b, Object c, Object d) {
+		if (CljMetrics.ENABLED)
+			return (T) CljMetrics.call(this.name, name, fn(name), new Object[]{ a, b, c, d });
+		return (T) fn(name).invoke(a, b, c, d);
 	}
 	
 	/**
@@ -151,8 +332,154 @@ public final class CljNamespace {
 	 * 
 	 * @see #call(String, Object...)
 	 */
+	@SuppressWarnings("unchecked")
 	public <T> T call(String name, Collection<?> args) {
-		return UberClj.call(this.name, name, args);
+		Object[] array = args.toArray();
+		if (CljMetrics.ENABLED)
+			return (T) CljMetrics.call(this.name, name, fn(name), array);
+		return (T) Invoker.invoke(fn(name), array);
+	}
+
+	/**
+	 * <p>Call function identified by the specified name with each of the specified arrays of arguments.
+	 * 
+	 * <p>Function is resolved once, and the fixed arity call is selected once for arrays of the same length.
+	 * 
+	 * @return fixed-size list of results, in the order of arguments
+	 * 
+	 * @throws NoSuchElementException in case no such var is bound
+	 * 
+	 * @see #callBatch(String, List, ForkJoinPool)
+	 * @see #callBatch(String, Iterator)
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> List<T> callBatch(String name, List<Object[]> argsList) {
+		return (List<T>) Arrays.asList(Batches.invokeAll(fn(name), argsList));
+	}
+
+	/**
+	 * <p>Call function identified by the specified name with each of the specified arrays of arguments,
+	 * in parallel in the specified pool. The calling thread is blocked until all calls are finished.
+	 * 
+	 * <p>Dynamic bindings of the calling thread are conveyed to the threads of the pool.
+	 * 
+	 * @return fixed-size list of results, in the order of arguments
+	 * 
+	 * @throws NoSuchElementException in case no such var is bound
+	 * 
+	 * @see #callBatch(String, List)
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> List<T> callBatch(String name, List<Object[]> argsList, ForkJoinPool pool) {
+		return (List<T>) Arrays.asList(Batches.invokeAll(fn(name), argsList, pool));
+	}
+
+	/**
+	 * <p>Call function identified by the specified name with each of the specified arrays of arguments, lazily.
+	 * 
+	 * <p>Function is called with the next arguments only when the next result is requested,
+	 * so arguments and results may be streamed without holding them all in memory.
+	 * 
+	 * @throws NoSuchElementException in case no such var is bound
+	 * 
+	 * @see #callBatch(String, List)
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> Iterator<T> callBatch(String name, Iterator<Object[]> args) {
+		return (Iterator<T>) Batches.invokeEach(fn(name), args);
+	}
+
+	/**
+	 * <p>Create implementation of the specified interface, where each method calls the function of this namespace
+	 * with the kebab-cased name of the method (e.g. `getUserName` calls `get-user-name`),
+	 * or the name specified by the {@link CljFn} annotation.
+	 * 
+	 * <p>All the functions are checked at bind time, and the dispatch is generated once,
+	 * so calls of the interface methods are direct function calls. Created object should be reused.
+	 * 
+	 * @throws IllegalArgumentException in case specified class is not a public interface,
+	 * or a function doesn't accept the number of arguments of its method
+	 * @throws NoSuchElementException in case there's no function bound for an abstract method
+	 * 
+	 * @see UberClj#bind(Class, String)
+	 */
+	public <T> T bind(Class<T> iface) {
+		return Binder.bind(iface, this);
+	}
+
+	/**
+	 * <p>Call function identified by the specified name asynchronously, in the default executor.
+	 * 
+	 * @throws NoSuchElementException in case no such var is bound
+	 * 
+	 * @see UberClj#callAsync(String, String, Object...)
+	 */
+	public <T> CompletableFuture<T> callAsync(String name, Object... args) {
+		return callAsync(CljAsync.defaultExecutor(), name, args);
+	}
+
+	/**
+	 * <p>Call function identified by the specified name asynchronously, in the specified executor.
+	 * 
+	 * @throws NoSuchElementException in case no such var is bound
+	 * 
+	 * @see UberClj#callAsync(Executor, String, String, Object...)
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> CompletableFuture<T> callAsync(Executor executor, String name, Object... args) {
+		IFn fn = fn(name);
+		return CljAsync.supply(() -> (T) Invoker.invoke(fn, args), executor);
+	}
+
+	/**
+	 * <p>Call the specified body with dynamic vars of this namespace bound to the values mapped by their names
+	 * (the same way as `binding` does), bindings are removed when the body returns or throws.
+	 * 
+	 * <p>Bindings are visible to all clojure code called by the body in the current thread,
+	 * and are conveyed by {@link #callAsync(String, Object...)} and batch calls.
+	 * 
+	 * @throws IllegalArgumentException in case a var isn't dynamic
+	 * 
+	 * @see #bindings(String...)
+	 */
+	public <T> T withBindings(Map<String, ?> bindings, Supplier<T> body) {
+		return CljBindings.with(vars, bindings, body);
+	}
+
+	/**
+	 * <p>Create template of bindings of the dynamic vars of this namespace with the specified names.
+	 * 
+	 * <p>Vars are resolved once, so only their values are passed for each call.
+	 * 
+	 * @throws IllegalArgumentException in case a var isn't dynamic
+	 * 
+	 * @see CljBindings
+	 * @see #withBindings(Map, Supplier)
+	 */
+	public CljBindings bindings(String... names) {
+		return new CljBindings(vars, names);
+	}
+
+	/**
+	 * <p>Acquire the function and return implementation of the specified functional interface
+	 * (e.g. `Predicate`, `ToIntFunction`, `Comparator`, or any user interface with a single abstract method)
+	 * that will call it.
+	 * 
+	 * <p>Arguments of the method are boxed, and the result is converted to the return type
+	 * the same way clojure does (e.g. any value except `nil` and `false` is `true`).
+	 * In case the function is compiled with primitive hints matching the method
+	 * (e.g. implements {@link IFn.LL} for `long applyAsLong(long)`) it's called thru `invokePrim`, without boxing.
+	 * 
+	 * <p>The function is acquired once, so redefinitions of the var are not visible thru the created object.
+	 * 
+	 * @throws NoSuchElementException in case no such var is bound
+	 * @throws IllegalArgumentException in case specified class is not a public functional interface,
+	 * or the function doesn't accept the number of arguments of its method
+	 * 
+	 * @see #bind(Class)
+	 */
+	public <F> F as(Class<F> functionalInterface, String name) {
+		return Adapters.as(functionalInterface, fn(name));
 	}
 
 	/**
@@ -160,8 +487,7 @@ public final class CljNamespace {
 	 */
 	@SuppressWarnings("unchecked")
 	public <R> Supplier<R> fn0(String name) {
-		IFn fn = fn(name);
-		return () -> (R) fn.invoke();
+		return as(Supplier.class, name);
 	}
 
 	/**
@@ -169,8 +495,7 @@ public final class CljNamespace {
 	 */
 	@SuppressWarnings("unchecked")
 	public <A,R> Function<A, R> fn1(String name) {
-		IFn fn = fn(name);
-		return a -> (R) fn.invoke(a);
+		return as(Function.class, name);
 	}
 
 	/**
@@ -178,7 +503,68 @@ public final class CljNamespace {
 	 */
 	@SuppressWarnings("unchecked")
 	public <A,B,R> BiFunction<A, B, R> fn2(String name) {
-		IFn fn = fn(name);
-		return (a,b) -> (R) fn.invoke(a,b);
+		return as(BiFunction.class, name);
+	}
+
+	/**
+	 * <p>Acquire the function and return java LongUnaryOperator that will call it.
+	 * 
+	 * <p>In case the function is compiled with primitive `long` hints (implements {@link IFn.LL})
+	 * it's called thru `invokePrim`, without boxing of the argument and the result.
+	 */
+	public LongUnaryOperator fnLong1(String name) {
+		return as(LongUnaryOperator.class, name);
+	}
+
+	/**
+	 * <p>Acquire the function and return java LongBinaryOperator that will call it.
+	 * 
+	 * <p>In case the function is compiled with primitive `long` hints (implements {@link IFn.LLL})
+	 * it's called thru `invokePrim`, without boxing of the arguments and the result.
+	 */
+	public LongBinaryOperator fnLong2(String name) {
+		return as(LongBinaryOperator.class, name);
+	}
+
+	/**
+	 * <p>Acquire the function and return java DoubleUnaryOperator that will call it.
+	 * 
+	 * <p>In case the function is compiled with primitive `double` hints (implements {@link IFn.DD})
+	 * it's called thru `invokePrim`, without boxing of the argument and the result.
+	 */
+	public DoubleUnaryOperator fnDouble1(String name) {
+		return as(DoubleUnaryOperator.class, name);
+	}
+
+	/**
+	 * <p>Acquire the function and return java DoubleBinaryOperator that will call it.
+	 * 
+	 * <p>In case the function is compiled with primitive `double` hints (implements {@link IFn.DDD})
+	 * it's called thru `invokePrim`, without boxing of the arguments and the result.
+	 */
+	public DoubleBinaryOperator fnDouble2(String name) {
+		return as(DoubleBinaryOperator.class, name);
+	}
+
+	/**
+	 * <p>Acquire the function and return java ToLongFunction that will call it.
+	 * 
+	 * <p>In case the function is compiled with primitive `long` result hint (implements {@link IFn.OL})
+	 * it's called thru `invokePrim`, without boxing of the result.
+	 */
+	@SuppressWarnings("unchecked")
+	public <A> ToLongFunction<A> fnToLong1(String name) {
+		return as(ToLongFunction.class, name);
+	}
+
+	/**
+	 * <p>Acquire the function and return java ToDoubleFunction that will call it.
+	 * 
+	 * <p>In case the function is compiled with primitive `double` result hint (implements {@link IFn.OD})
+	 * it's called thru `invokePrim`, without boxing of the result.
+	 */
+	@SuppressWarnings("unchecked")
+	public <A> ToDoubleFunction<A> fnToDouble1(String name) {
+		return as(ToDoubleFunction.class, name);
 	}
 }
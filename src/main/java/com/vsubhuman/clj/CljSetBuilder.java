@@ -0,0 +1,55 @@
+package com.vsubhuman.clj;
+
+import clojure.lang.ITransientCollection;
+import clojure.lang.PersistentHashSet;
+
+/**
+ * <p>Builder of a persistent set, backed by a clojure transient.
+ * 
+ * <p>Elements are added in place, without creating intermediate persistent sets,
+ * and the final set is created by {@link #build()} without copying.
+ * Duplicated elements are added only once.
+ * Builder cannot be used after the set is built.
+ * 
+ * @see UberClj#setBuilder()
+ */
+public final class CljSetBuilder {
+
+	private ITransientCollection set = PersistentHashSet.EMPTY.asTransient();
+
+	CljSetBuilder() {
+	}
+
+	/**
+	 * Add the specified element to the set
+	 */
+	public CljSetBuilder add(Object element) {
+		set = set.conj(element);
+		return this;
+	}
+
+	/**
+	 * Add all the specified elements to the set
+	 */
+	public CljSetBuilder addAll(Object... elements) {
+		for (Object e : elements)
+			set = set.conj(e);
+		return this;
+	}
+
+	/**
+	 * Add all the specified elements to the set
+	 */
+	public CljSetBuilder addAll(Iterable<?> elements) {
+		for (Object e : elements)
+			set = set.conj(e);
+		return this;
+	}
+
+	/**
+	 * Create the persistent set of all the added elements
+	 */
+	public PersistentHashSet build() {
+		return (PersistentHashSet) set.persistent();
+	}
+}
@@ -0,0 +1,132 @@
+package com.vsubhuman.clj;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+import clojure.lang.Counted;
+import clojure.lang.ISeq;
+import clojure.lang.Indexed;
+import clojure.lang.PersistentVector;
+import clojure.lang.RT;
+
+/**
+ * <p>Spliterators over clojure collections.
+ *
+ * <p>Vectors (and other indexed collections) are split by index ranges,
+ * so parallel streams over them are split evenly between threads.
+ * Sets and maps are traversed by their iterators.
+ * All other collections (e.g. lazy seqs) are traversed thru their seqs incrementally,
+ * so seq is realized only as far as it's consumed, and consumed part is not retained by the spliterator.
+ *
+ * @see UberClj#stream(Object)
+ */
+final class CljSpliterators {
+
+	private CljSpliterators() {
+	}
+
+	/**
+	 * Create a spliterator over the specified collection
+	 */
+	static Spliterator<Object> of(Object coll) {
+		if (coll instanceof Indexed && coll instanceof Counted)
+			return new IndexedSpliterator((Indexed) coll, 0, ((Counted) coll).count());
+		if (coll instanceof Set)
+			return Spliterators.spliterator((Collection<?>) coll,
+					Spliterator.DISTINCT | Spliterator.IMMUTABLE);
+		if (coll instanceof Map)
+			return Spliterators.spliterator(((Map<?, ?>) coll).entrySet(),
+					Spliterator.DISTINCT | Spliterator.IMMUTABLE);
+		return new SeqSpliterator(RT.seq(coll));
+	}
+
+	/**
+	 * Spliterator over a range of indexes of an indexed collection
+	 */
+	private static final class IndexedSpliterator implements Spliterator<Object> {
+
+		private final Indexed coll;
+		private int index;
+		private final int end;
+
+		IndexedSpliterator(Indexed coll, int index, int end) {
+			this.coll = coll;
+			this.index = index;
+			this.end = end;
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super Object> action) {
+			if (index >= end)
+				return false;
+			action.accept(coll.nth(index++));
+			return true;
+		}
+
+		@Override
+		public void forEachRemaining(Consumer<? super Object> action) {
+			if (coll instanceof PersistentVector) {
+				// Elements are read by whole leaf arrays, instead of walking the tree for each index
+				PersistentVector vector = (PersistentVector) coll;
+				while (index < end) {
+					Object[] leaf = vector.arrayFor(index);
+					int from = index & 31;
+					int to = Math.min(leaf.length, from + end - index);
+					for (int i = from; i < to; i++)
+						action.accept(leaf[i]);
+					index += to - from;
+				}
+			} else {
+				while (index < end)
+					action.accept(coll.nth(index++));
+			}
+		}
+
+		@Override
+		public Spliterator<Object> trySplit() {
+			int mid = (index + end) >>> 1;
+			if (mid <= index)
+				return null;
+			Spliterator<Object> prefix = new IndexedSpliterator(coll, index, mid);
+			index = mid;
+			return prefix;
+		}
+
+		@Override
+		public long estimateSize() {
+			return end - index;
+		}
+
+		@Override
+		public int characteristics() {
+			return ORDERED | SIZED | SUBSIZED | Spliterator.IMMUTABLE;
+		}
+	}
+
+	/**
+	 * Spliterator walking a seq, splits are performed by batches of realized elements
+	 */
+	private static final class SeqSpliterator extends Spliterators.AbstractSpliterator<Object> {
+
+		private ISeq seq;
+
+		SeqSpliterator(ISeq seq) {
+			super(Long.MAX_VALUE, ORDERED | Spliterator.IMMUTABLE);
+			this.seq = seq;
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super Object> action) {
+			if (seq == null)
+				return false;
+			Object e = seq.first();
+			seq = seq.next();
+			action.accept(e);
+			return true;
+		}
+	}
+}
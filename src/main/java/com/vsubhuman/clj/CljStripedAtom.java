@@ -0,0 +1,134 @@
+package com.vsubhuman.clj;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+import clojure.lang.Atom;
+import clojure.lang.IDeref;
+import clojure.lang.Util;
+
+/**
+ * <p>State sharded across multiple clojure atoms (stripes), for hot state updated from many threads at once.
+ *
+ * <p>Each update is applied to a single stripe, so concurrent updates from different threads
+ * mostly don't contend on the same atom. Value is read by merging values of all stripes,
+ * starting from the identity value (e.g. `0L` and `Long::sum` for a counter,
+ * or an empty map and `merge` for a map).
+ * So updates should be mergeable: any stripe may receive any update, unless updates are keyed.
+ *
+ * <p>Keyed updates (see {@link #swap(Object, UnaryOperator)}) of the same key are always applied to the same stripe,
+ * so a map may be sharded by its keys, and merged as a disjoint union.
+ *
+ * <p>Reads are not atomic across stripes: concurrent updates may be partially visible in the merged value.
+ *
+ * @see CljAtom
+ * @see UberClj#stripedAtom(Object, BinaryOperator)
+ */
+public final class CljStripedAtom<T> implements IDeref, Supplier<T> {
+
+	private final Atom[] stripes;
+	private final int mask;
+	private final T identity;
+	private final BinaryOperator<T> merge;
+
+	private final LongAdder swaps = new LongAdder();
+	private final LongAdder retries = new LongAdder();
+
+	/**
+	 * Number of stripes is rounded up to a power of two
+	 */
+	CljStripedAtom(int stripes, T identity, BinaryOperator<T> merge) {
+		if (stripes <= 0)
+			throw new IllegalArgumentException("Number of stripes must be positive: " + stripes);
+		int n = Integer.highestOneBit(stripes);
+		if (n < stripes)
+			n <<= 1;
+		this.stripes = new Atom[n];
+		for (int i = 0; i < n; i++)
+			this.stripes[i] = new Atom(identity);
+		this.mask = n - 1;
+		this.identity = identity;
+		this.merge = merge;
+	}
+
+	/**
+	 * Number of stripes
+	 */
+	public int stripes() {
+		return stripes.length;
+	}
+
+	/**
+	 * Merged value of all stripes
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public T get() {
+		T value = identity;
+		for (Atom stripe : stripes)
+			value = merge.apply(value, (T) stripe.deref());
+		return value;
+	}
+
+	@Override
+	public Object deref() {
+		return get();
+	}
+
+	/**
+	 * <p>Apply the specified function to the value of one of the stripes.
+	 *
+	 * <p>Stripe is selected by the current thread, and another stripe is tried in case of contention.
+	 */
+	public void swap(UnaryOperator<T> f) {
+		int i = spread(Thread.currentThread().getId());
+		while (!trySwap(stripes[i & mask], f)) {
+			retries.increment();
+			i++;
+		}
+		swaps.increment();
+	}
+
+	/**
+	 * <p>Apply the specified function to the value of the stripe of the specified key.
+	 *
+	 * <p>All updates of equal keys (by clojure equality) are applied to the same stripe.
+	 */
+	public void swap(Object key, UnaryOperator<T> f) {
+		Atom stripe = stripes[spread(Util.hasheq(key)) & mask];
+		while (!trySwap(stripe, f))
+			retries.increment();
+		swaps.increment();
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> boolean trySwap(Atom stripe, UnaryOperator<T> f) {
+		Object v = stripe.deref();
+		return stripe.compareAndSet(v, f.apply((T) v));
+	}
+
+	private static int spread(long h) {
+		return (int) ((h * 0x9E3779B97F4A7C15L) >>> 32);
+	}
+
+	/**
+	 * Number of successful updates of all stripes
+	 */
+	public long swapCount() {
+		return swaps.sum();
+	}
+
+	/**
+	 * Number of compare-and-set attempts failed due to concurrent updates and retried
+	 */
+	public long retryCount() {
+		return retries.sum();
+	}
+
+	@Override
+	public String toString() {
+		return "#<striped-atom " + get() + ">";
+	}
+}
@@ -0,0 +1,104 @@
+package com.vsubhuman.clj;
+
+import java.util.Arrays;
+
+import clojure.lang.ITransientCollection;
+import clojure.lang.PersistentVector;
+
+/**
+ * <p>Builder of a persistent vector, backed by a clojure transient.
+ * 
+ * <p>Elements are added in place, without creating intermediate persistent vectors,
+ * and the final vector is created by {@link #build()} without copying.
+ * Small vectors of the expected size are collected into an array, which is adopted by the vector as it is,
+ * so no transient is created for them.
+ * Builder cannot be used after the vector is built.
+ * 
+ * @see UberClj#vectorBuilder()
+ * @see UberClj#vectorBuilder(int)
+ */
+public final class CljVectorBuilder {
+
+	/**
+	 * Maximum expected size of a vector to be collected into an array (size of the vector tail)
+	 */
+	static final int ARRAY_SIZE = 32;
+
+	/**
+	 * Transient already made persistent, so adding elements to the builder after the build fails the same way
+	 */
+	private static final ITransientCollection BUILT = built();
+
+	private Object[] array;
+	private int count;
+	private ITransientCollection vector;
+
+	CljVectorBuilder(int expectedSize) {
+		if (expectedSize > 0 && expectedSize <= ARRAY_SIZE)
+			array = new Object[expectedSize];
+		else
+			vector = PersistentVector.EMPTY.asTransient();
+	}
+
+	private static ITransientCollection built() {
+		ITransientCollection t = PersistentVector.EMPTY.asTransient();
+		t.persistent();
+		return t;
+	}
+
+	/**
+	 * Add the specified element to the end of the vector
+	 */
+	public CljVectorBuilder add(Object element) {
+		if (array != null) {
+			if (count < array.length) {
+				array[count++] = element;
+				return this;
+			}
+			spill();
+		}
+		vector = vector.conj(element);
+		return this;
+	}
+
+	/**
+	 * Add all the specified elements to the end of the vector
+	 */
+	public CljVectorBuilder addAll(Object... elements) {
+		for (Object e : elements)
+			add(e);
+		return this;
+	}
+
+	/**
+	 * Add all the specified elements to the end of the vector
+	 */
+	public CljVectorBuilder addAll(Iterable<?> elements) {
+		for (Object e : elements)
+			add(e);
+		return this;
+	}
+
+	/*
+	 * More elements are added than expected, so collected ones are moved into a transient
+	 */
+	private void spill() {
+		ITransientCollection t = PersistentVector.EMPTY.asTransient();
+		for (int i = 0; i < count; i++)
+			t = t.conj(array[i]);
+		vector = t;
+		array = null;
+	}
+
+	/**
+	 * Create the persistent vector of all the added elements
+	 */
+	public PersistentVector build() {
+		if (array == null)
+			return (PersistentVector) vector.persistent();
+		Object[] elements = count == array.length ? array : Arrays.copyOf(array, count);
+		array = null;
+		vector = BUILT;
+		return count == 0 ? PersistentVector.EMPTY : PersistentVector.adopt(elements);
+	}
+}
@@ -0,0 +1,79 @@
+package com.vsubhuman.clj;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+import clojure.lang.IPersistentCollection;
+
+/**
+ * <p>Deep converter of java data into clojure data.
+ *
+ * <p>Java maps are converted into persistent maps, sets into persistent sets,
+ * other collections and object arrays into persistent vectors.
+ * Elements, keys and values are converted recursively.
+ * Clojure collections and all other values are left as they are.
+ * All collections are built thru transients, without intermediate copies.
+ *
+ * <p>Records and beans are left as they are too, unless converted by the {@link BeanConverter},
+ * which converts them into maps.
+ *
+ * @see UberClj#toClj(Object)
+ */
+final class DataConverter {
+
+	private DataConverter() {
+	}
+
+	/**
+	 * Convert the specified value into clojure data
+	 */
+	static Object toClj(Object value) {
+		return toClj(value, false);
+	}
+
+	/**
+	 * Convert the specified value into clojure data, records and beans are converted into maps if `beans` is set
+	 */
+	static Object toClj(Object value, boolean beans) {
+		if (value == null || value instanceof IPersistentCollection)
+			return value;
+		if (value instanceof Map)
+			return map((Map<?, ?>) value, beans);
+		if (value instanceof Set)
+			return set((Set<?>) value, beans);
+		if (value instanceof Collection)
+			return vector((Collection<?>) value, beans);
+		if (value instanceof Object[])
+			return vector((Object[]) value, beans);
+		return beans ? BeanConverter.nested(value) : value;
+	}
+
+	private static Object map(Map<?, ?> map, boolean beans) {
+		CljMapBuilder builder = new CljMapBuilder(map.size());
+		for (Map.Entry<?, ?> e : map.entrySet())
+			builder.put(toClj(e.getKey(), beans), toClj(e.getValue(), beans));
+		return builder.build();
+	}
+
+	private static Object set(Set<?> set, boolean beans) {
+		CljSetBuilder builder = new CljSetBuilder();
+		for (Object e : set)
+			builder.add(toClj(e, beans));
+		return builder.build();
+	}
+
+	private static Object vector(Collection<?> elements, boolean beans) {
+		CljVectorBuilder builder = new CljVectorBuilder(elements.size());
+		for (Object e : elements)
+			builder.add(toClj(e, beans));
+		return builder.build();
+	}
+
+	private static Object vector(Object[] elements, boolean beans) {
+		CljVectorBuilder builder = new CljVectorBuilder(elements.length);
+		for (Object e : elements)
+			builder.add(toClj(e, beans));
+		return builder.build();
+	}
+}
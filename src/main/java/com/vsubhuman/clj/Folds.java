@@ -0,0 +1,93 @@
+package com.vsubhuman.clj;
+
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+
+import clojure.lang.AFn;
+import clojure.lang.IFn;
+import clojure.lang.MapEntry;
+
+/**
+ * <p>Parallel reduction of clojure collections thru `clojure.core.reducers/fold`.
+ *
+ * <p>Vectors and hash maps are split into partitions reduced in parallel in the fork-join pool of reducers,
+ * and results of the partitions are combined. Other collections are reduced sequentially.
+ *
+ * @see UberClj#fold(Object, IFn, IFn, int)
+ */
+final class Folds {
+
+	/**
+	 * Default number of elements in a partition, the same as used by reducers
+	 */
+	static final int PARTITION_SIZE = 512;
+
+	private static final class FoldFn {
+		static final IFn FN = UberClj.require("clojure.core.reducers").fn("fold");
+	}
+
+	private Folds() {
+	}
+
+	static Object fold(Object coll, IFn combine, IFn reduce, int partitionSize) {
+		return FoldFn.FN.invoke((long) partitionSize, combine, reduce, coll);
+	}
+
+	static <T> Object fold(Object coll, Supplier<T> identity, BinaryOperator<T> combine,
+			BiFunction<T, Object, T> reduce, int partitionSize) {
+		return fold(coll, new Combine<>(identity, combine), new Reduce<>(reduce), partitionSize);
+	}
+
+	/**
+	 * Combining function, called without arguments to create initial value of each partition
+	 */
+	private static final class Combine<T> extends AFn {
+
+		private final Supplier<T> identity;
+		private final BinaryOperator<T> combine;
+
+		Combine(Supplier<T> identity, BinaryOperator<T> combine) {
+			this.identity = identity;
+			this.combine = combine;
+		}
+
+		@Override
+		public Object invoke() {
+			return identity.get();
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public Object invoke(Object a, Object b) {
+			return combine.apply((T) a, (T) b);
+		}
+	}
+
+	/**
+	 * <p>Reducing function of a single element.
+	 *
+	 * <p>Folding maps calls the reducing function with separate key and value,
+	 * so they're wrapped back into a map entry before the java function is applied.
+	 */
+	private static final class Reduce<T> extends AFn {
+
+		private final BiFunction<T, Object, T> reduce;
+
+		Reduce(BiFunction<T, Object, T> reduce) {
+			this.reduce = reduce;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public Object invoke(Object acc, Object x) {
+			return reduce.apply((T) acc, x);
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public Object invoke(Object acc, Object key, Object val) {
+			return reduce.apply((T) acc, MapEntry.create(key, val));
+		}
+	}
+}
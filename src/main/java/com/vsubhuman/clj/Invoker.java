@@ -0,0 +1,143 @@
+package com.vsubhuman.clj;
+
+import clojure.lang.ArraySeq;
+import clojure.lang.IFn;
+
+/**
+ * <p>Dispatcher of function calls with an array of arguments.
+ * 
+ * <p>Instead of constructing a seq of arguments and calling {@link IFn#applyTo(clojure.lang.ISeq)}
+ * the matching fixed arity `invoke` is called directly, so no interop-side objects are allocated.
+ * `applyTo` is used only when there're more than 20 arguments.
+ * 
+ * @see UberClj#call(String, String, Object...)
+ * @see CljNamespace#call(String, Object...)
+ */
+final class Invoker {
+
+	/**
+	 * Call of a function with an array of arguments of a known length
+	 */
+	interface Call {
+		Object invoke(IFn fn, Object[] args);
+	}
+
+	/**
+	 * Max number of arguments passed to a fixed arity `invoke`, more arguments are passed to `applyTo`
+	 */
+	static final int MAX_FIXED_ARITY = 20;
+
+	static final Object[] NO_ARGS = {};
+
+	private Invoker() {
+	}
+
+	/**
+	 * Call the specified function with the specified arguments using the fixed arity `invoke` when possible
+	 */
+	static Object invoke(IFn fn, Object[] args) {
+		switch (args.length) {
+		case 0:
+			return fn.invoke();
+		case 1:
+			return fn.invoke(args[0]);
+		case 2:
+			return fn.invoke(args[0], args[1]);
+		case 3:
+			return fn.invoke(args[0], args[1], args[2]);
+		case 4:
+			return fn.invoke(args[0], args[1], args[2], args[3]);
+		case 5:
+			return fn.invoke(args[0], args[1], args[2], args[3], args[4]);
+		case 6:
+			return fn.invoke(args[0], args[1], args[2], args[3], args[4], args[5]);
+		case 7:
+			return fn.invoke(args[0], args[1], args[2], args[3], args[4], args[5], args[6]);
+		case 8:
+			return fn.invoke(args[0], args[1], args[2], args[3], args[4], args[5], args[6], args[7]);
+		case 9:
+			return fn.invoke(args[0], args[1], args[2], args[3], args[4], args[5], args[6], args[7], args[8]);
+		case 10:
+			return fn.invoke(args[0], args[1], args[2], args[3], args[4], args[5], args[6], args[7], args[8], args[9]);
+		case 11:
+			return fn.invoke(args[0], args[1], args[2], args[3], args[4], args[5], args[6], args[7], args[8], args[9], args[10]);
+		case 12:
+			return fn.invoke(args[0], args[1], args[2], args[3], args[4], args[5], args[6], args[7], args[8], args[9], args[10], args[11]);
+		case 13:
+			return fn.invoke(args[0], args[1], args[2], args[3], args[4], args[5], args[6], args[7], args[8], args[9], args[10], args[11], args[12]);
+		case 14:
+			return fn.invoke(args[0], args[1], args[2], args[3], args[4], args[5], args[6], args[7], args[8], args[9], args[10], args[11], args[12], args[13]);
+		case 15:
+			return fn.invoke(args[0], args[1], args[2], args[3], args[4], args[5], args[6], args[7], args[8], args[9], args[10], args[11], args[12], args[13], args[14]);
+		case 16:
+			return fn.invoke(args[0], args[1], args[2], args[3], args[4], args[5], args[6], args[7], args[8], args[9], args[10], args[11], args[12], args[13], args[14], args[15]);
+		case 17:
+			return fn.invoke(args[0], args[1], args[2], args[3], args[4], args[5], args[6], args[7], args[8], args[9], args[10], args[11], args[12], args[13], args[14], args[15], args[16]);
+		case 18:
+			return fn.invoke(args[0], args[1], args[2], args[3], args[4], args[5], args[6], args[7], args[8], args[9], args[10], args[11], args[12], args[13], args[14], args[15], args[16], args[17]);
+		case 19:
+			return fn.invoke(args[0], args[1], args[2], args[3], args[4], args[5], args[6], args[7], args[8], args[9], args[10], args[11], args[12], args[13], args[14], args[15], args[16], args[17], args[18]);
+		case 20:
+			return fn.invoke(args[0], args[1], args[2], args[3], args[4], args[5], args[6], args[7], args[8], args[9], args[10], args[11], args[12], args[13], args[14], args[15], args[16], args[17], args[18], args[19]);
+		default:
+			return fn.applyTo(ArraySeq.create(args));
+		}
+	}
+
+	/**
+	 * <p>Select the call for the arrays of arguments of the specified length.
+	 * 
+	 * <p>Selected call passes arguments to the matching fixed arity `invoke` without checking the length of the array,
+	 * so it may be selected once for multiple calls with the same number of arguments.
+	 * Single calls should use {@link #invoke(IFn, Object[])} instead,
+	 * since calling thru the selected lambda is an interface dispatch over all the arities.
+	 */
+	static Call forArity(int arity) {
+		switch (arity) {
+		case 0:
+			return (fn, a) -> fn.invoke();
+		case 1:
+			return (fn, a) -> fn.invoke(a[0]);
+		case 2:
+			return (fn, a) -> fn.invoke(a[0], a[1]);
+		case 3:
+			return (fn, a) -> fn.invoke(a[0], a[1], a[2]);
+		case 4:
+			return (fn, a) -> fn.invoke(a[0], a[1], a[2], a[3]);
+		case 5:
+			return (fn, a) -> fn.invoke(a[0], a[1], a[2], a[3], a[4]);
+		case 6:
+			return (fn, a) -> fn.invoke(a[0], a[1], a[2], a[3], a[4], a[5]);
+		case 7:
+			return (fn, a) -> fn.invoke(a[0], a[1], a[2], a[3], a[4], a[5], a[6]);
+		case 8:
+			return (fn, a) -> fn.invoke(a[0], a[1], a[2], a[3], a[4], a[5], a[6], a[7]);
+		case 9:
+			return (fn, a) -> fn.invoke(a[0], a[1], a[2], a[3], a[4], a[5], a[6], a[7], a[8]);
+		case 10:
+			return (fn, a) -> fn.invoke(a[0], a[1], a[2], a[3], a[4], a[5], a[6], a[7], a[8], a[9]);
+		case 11:
+			return (fn, a) -> fn.invoke(a[0], a[1], a[2], a[3], a[4], a[5], a[6], a[7], a[8], a[9], a[10]);
+		case 12:
+			return (fn, a) -> fn.invoke(a[0], a[1], a[2], a[3], a[4], a[5], a[6], a[7], a[8], a[9], a[10], a[11]);
+		case 13:
+			return (fn, a) -> fn.invoke(a[0], a[1], a[2], a[3], a[4], a[5], a[6], a[7], a[8], a[9], a[10], a[11], a[12]);
+		case 14:
+			return (fn, a) -> fn.invoke(a[0], a[1], a[2], a[3], a[4], a[5], a[6], a[7], a[8], a[9], a[10], a[11], a[12], a[13]);
+		case 15:
+			return (fn, a) -> fn.invoke(a[0], a[1], a[2], a[3], a[4], a[5], a[6], a[7], a[8], a[9], a[10], a[11], a[12], a[13], a[14]);
+		case 16:
+			return (fn, a) -> fn.invoke(a[0], a[1], a[2], a[3], a[4], a[5], a[6], a[7], a[8], a[9], a[10], a[11], a[12], a[13], a[14], a[15]);
+		case 17:
+			return (fn, a) -> fn.invoke(a[0], a[1], a[2], a[3], a[4], a[5], a[6], a[7], a[8], a[9], a[10], a[11], a[12], a[13], a[14], a[15], a[16]);
+		case 18:
+			return (fn, a) -> fn.invoke(a[0], a[1], a[2], a[3], a[4], a[5], a[6], a[7], a[8], a[9], a[10], a[11], a[12], a[13], a[14], a[15], a[16], a[17]);
+		case 19:
+			return (fn, a) -> fn.invoke(a[0], a[1], a[2], a[3], a[4], a[5], a[6], a[7], a[8], a[9], a[10], a[11], a[12], a[13], a[14], a[15], a[16], a[17], a[18]);
+		case 20:
+			return (fn, a) -> fn.invoke(a[0], a[1], a[2], a[3], a[4], a[5], a[6], a[7], a[8], a[9], a[10], a[11], a[12], a[13], a[14], a[15], a[16], a[17], a[18], a[19]);
+		default:
+			return (fn, a) -> fn.applyTo(ArraySeq.create(a));
+		}
+	}
+}
@@ -0,0 +1,75 @@
+package com.vsubhuman.clj;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import clojure.lang.Keyword;
+import clojure.lang.Symbol;
+
+/**
+ * <p>Cache of the interned keywords and symbols by their names.
+ *
+ * <p>Interning a keyword creates a symbol and probes the global keyword table,
+ * so keywords (and symbols) are interned once and then are found by a single lookup of their name.
+ * Cached keywords are the same objects as interned ones, so they're identical to keywords read by clojure.
+ *
+ * <p>Total number of cached keywords and symbols is bounded by {@link #MAX_SIZE},
+ * when the bound is exceeded - cache is cleared.
+ *
+ * @see UberClj#key(String)
+ * @see UberClj#symbol(String)
+ */
+final class KeyCache {
+
+	/**
+	 * Maximum total number of cached keywords and symbols,
+	 * may be configured with the `com.vsubhuman.clj.keyCacheSize` system property
+	 */
+	static final int MAX_SIZE = Integer.getInteger("com.vsubhuman.clj.keyCacheSize", 4096);
+
+	private static final ConcurrentMap<String, Keyword> KEYWORDS = new ConcurrentHashMap<>();
+	private static final ConcurrentMap<String, Symbol> SYMBOLS = new ConcurrentHashMap<>();
+
+	private static final AtomicInteger SIZE = new AtomicInteger();
+
+	private KeyCache() {
+	}
+
+	/**
+	 * Acquire keyword with the specified name (may be namespace qualified: "ns/name")
+	 */
+	static Keyword keyword(String name) {
+		Keyword key = KEYWORDS.get(name);
+		return key != null ? key : cache(KEYWORDS, name, Keyword.intern(name));
+	}
+
+	/**
+	 * Acquire symbol with the specified name (may be namespace qualified: "ns/name")
+	 */
+	static Symbol symbol(String name) {
+		Symbol sym = SYMBOLS.get(name);
+		return sym != null ? sym : cache(SYMBOLS, name, Symbol.intern(name));
+	}
+
+	private static <T> T cache(ConcurrentMap<String, T> cache, String name, T value) {
+		T cached = cache.putIfAbsent(name, value);
+		if (cached != null)
+			return cached;
+		if (SIZE.incrementAndGet() > MAX_SIZE)
+			clear();
+		return value;
+	}
+
+	/**
+	 * Clear all cached keywords and symbols
+	 */
+	static void clear() {
+		for (String name : KEYWORDS.keySet())
+			if (KEYWORDS.remove(name) != null)
+				SIZE.decrementAndGet();
+		for (String name : SYMBOLS.keySet())
+			if (SYMBOLS.remove(name) != null)
+				SIZE.decrementAndGet();
+	}
+}
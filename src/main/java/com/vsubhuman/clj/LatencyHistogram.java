@@ -0,0 +1,71 @@
+package com.vsubhuman.clj;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * <p>Lock-free histogram of durations in nanos, with log-linear buckets (the same way as HdrHistogram).
+ *
+ * <p>Values less than {@link #SUB_BUCKETS} have their own buckets, greater values are split by powers of two,
+ * and each power of two is split into {@link #SUB_BUCKETS} linear buckets,
+ * so relative error of a recorded value is below `1 / SUB_BUCKETS` for any magnitude.
+ */
+final class LatencyHistogram {
+
+	private static final int SUB_BITS = 4;
+
+	/**
+	 * Number of linear buckets per power of two
+	 */
+	static final int SUB_BUCKETS = 1 << SUB_BITS;
+
+	/**
+	 * Number of buckets covering all positive long values
+	 */
+	static final int BUCKETS = SUB_BUCKETS + (Long.SIZE - 1 - SUB_BITS) * SUB_BUCKETS;
+
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+	/**
+	 * Record the specified value, negative values are recorded as `0`
+	 */
+	void record(long value) {
+		counts.incrementAndGet(index(Math.max(0, value)));
+	}
+
+	/**
+	 * Copy current counts of the buckets
+	 */
+	long[] counts() {
+		long[] copy = new long[BUCKETS];
+		for (int i = 0; i < BUCKETS; i++)
+			copy[i] = counts.get(i);
+		return copy;
+	}
+
+	/**
+	 * Index of the bucket containing the specified value
+	 */
+	static int index(long value) {
+		if (value < SUB_BUCKETS)
+			return (int) value;
+		int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+		return SUB_BUCKETS + shift * SUB_BUCKETS + (int) (value >>> shift) - SUB_BUCKETS;
+	}
+
+	/**
+	 * The lowest value of the bucket with the specified index
+	 */
+	static long lowest(int index) {
+		if (index < SUB_BUCKETS)
+			return index;
+		int shift = (index - SUB_BUCKETS) / SUB_BUCKETS;
+		return (long) (SUB_BUCKETS + (index - SUB_BUCKETS) % SUB_BUCKETS) << shift;
+	}
+
+	/**
+	 * The highest value of the bucket with the specified index
+	 */
+	static long highest(int index) {
+		return index + 1 < BUCKETS ? lowest(index + 1) - 1 : Long.MAX_VALUE;
+	}
+}
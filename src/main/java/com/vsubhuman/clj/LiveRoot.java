@@ -0,0 +1,149 @@
+package com.vsubhuman.clj;
+
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+import clojure.lang.AFn;
+import clojure.lang.Var;
+
+/**
+ * <p>Root value of a var, kept up to date by a var watch.
+ *
+ * <p>Value is kept in a single volatile field, along with the flag whether the var should be revalidated,
+ * so each access performs a single volatile read.
+ * Root is registered in its {@link VarCache} while watching, and the cache marks it stale each time
+ * its version is incremented, so when the var is unmapped and defined again (or the namespace is reloaded)
+ * the new var is watched instead.
+ *
+ * @see CljLiveVar
+ * @see CljLiveFn
+ */
+final class LiveRoot {
+
+	/**
+	 * Watch storing new root value of a var into the root watching it
+	 */
+	private static final AFn WATCH = new AFn() {
+		@Override
+		public Object invoke(Object key, Object ref, Object oldValue, Object newValue) {
+			((LiveRoot) key).set(newValue);
+			return null;
+		}
+	};
+
+	private static final AtomicReferenceFieldUpdater<LiveRoot, State> STATE =
+			AtomicReferenceFieldUpdater.newUpdater(LiveRoot.class, State.class, "state");
+
+	private final VarCache cache;
+	private final String name;
+
+	private volatile State state = State.EMPTY;
+
+	/*
+	 * Accessed under the lock only
+	 */
+	private Var var;
+	private boolean closed;
+
+	LiveRoot(VarCache cache, String name) {
+		this.cache = cache;
+		this.name = name;
+		synchronized (this) {
+			cache.register(this);
+			this.var = cache.get(name);
+			watch(var);
+		}
+	}
+
+	/**
+	 * Current root value of the var
+	 */
+	Object get() {
+		State s = state;
+		if (s.stale)
+			return revalidate();
+		return s.value;
+	}
+
+	/**
+	 * Current var
+	 */
+	synchronized Var var() {
+		return var;
+	}
+
+	/**
+	 * Remove the watch from the var, the last seen value is kept
+	 */
+	synchronized void close() {
+		closed = true;
+		var.removeWatch(this);
+		cache.unregister(this);
+	}
+
+	/**
+	 * Mark the var to be revalidated on the next access, the value is kept
+	 */
+	void invalidate() {
+		State s;
+		do {
+			s = state;
+		} while (!s.stale && !STATE.compareAndSet(this, s, new State(s.value, true)));
+	}
+
+	/*
+	 * Stale flag is kept, so invalidation concurrent with the redefinition is never lost
+	 */
+	private void set(Object value) {
+		State s;
+		do {
+			s = state;
+		} while (!STATE.compareAndSet(this, s, new State(value, s.stale)));
+	}
+
+	/*
+	 * Stale flag is cleared before the var is resolved,
+	 * so invalidation concurrent with the revalidation causes another one on the next access
+	 */
+	private synchronized Object revalidate() {
+		State s;
+		do {
+			s = state;
+		} while (s.stale && !STATE.compareAndSet(this, s, new State(s.value, false)));
+		if (!closed) {
+			Var resolved = cache.get(name);
+			if (resolved != var) {
+				var.removeWatch(this);
+				var = resolved;
+				watch(resolved);
+			}
+		}
+		return state.value;
+	}
+
+	/*
+	 * Var is locked while the current value is read, the same way it's locked while redefined,
+	 * so redefinition concurrent with the start of watching is never lost
+	 */
+	private void watch(Var var) {
+		synchronized (var) {
+			var.addWatch(this, WATCH);
+			set(var.getRawRoot());
+		}
+	}
+
+	/**
+	 * Immutable pair of the root value and the flag whether the var should be revalidated
+	 */
+	private static final class State {
+
+		static final State EMPTY = new State(null, false);
+
+		final Object value;
+		final boolean stale;
+
+		State(Object value, boolean stale) {
+			this.value = value;
+			this.stale = stale;
+		}
+	}
+}
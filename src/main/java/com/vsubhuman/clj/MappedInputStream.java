@@ -0,0 +1,77 @@
+package com.vsubhuman.clj;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * <p>Input stream reading a file thru memory-mapped windows.
+ *
+ * <p>Only a single window of the file is mapped at a time, and the next one is mapped when the current is read,
+ * so files of any size (including larger than 2GB) are read with bounded heap and address space.
+ *
+ * @see CljEdnReader#open(java.nio.file.Path)
+ */
+final class MappedInputStream extends InputStream {
+
+	/**
+	 * Default size of a mapped window
+	 */
+	static final int WINDOW_SIZE = 64 << 20;
+
+	private final FileChannel channel;
+	private final int windowSize;
+	private final long size;
+
+	private long position;
+	private MappedByteBuffer window;
+
+	MappedInputStream(FileChannel channel, int windowSize) throws IOException {
+		this.channel = channel;
+		this.windowSize = windowSize;
+		this.size = channel.size();
+	}
+
+	/*
+	 * Map the next window, if the current one is read
+	 */
+	private boolean available0() throws IOException {
+		if (window != null && window.hasRemaining())
+			return true;
+		if (position >= size)
+			return false;
+		long length = Math.min(windowSize, size - position);
+		window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+		position += length;
+		return true;
+	}
+
+	@Override
+	public int read() throws IOException {
+		return available0() ? window.get() & 0xFF : -1;
+	}
+
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException {
+		if (len == 0)
+			return 0;
+		if (!available0())
+			return -1;
+		int n = Math.min(len, window.remaining());
+		window.get(b, off, n);
+		return n;
+	}
+
+	@Override
+	public int available() throws IOException {
+		long remaining = (window != null ? window.remaining() : 0) + size - position;
+		return (int) Math.min(Integer.MAX_VALUE, remaining);
+	}
+
+	@Override
+	public void close() throws IOException {
+		window = null;
+		channel.close();
+	}
+}
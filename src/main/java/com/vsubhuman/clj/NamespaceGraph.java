@@ -0,0 +1,178 @@
+package com.vsubhuman.clj;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PushbackReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import clojure.lang.IPersistentVector;
+import clojure.lang.ISeq;
+import clojure.lang.Keyword;
+import clojure.lang.LispReader;
+import clojure.lang.RT;
+import clojure.lang.Sequential;
+import clojure.lang.Symbol;
+import clojure.lang.Var;
+
+/**
+ * <p>Dependency graph of namespaces, built from their `ns` forms.
+ *
+ * <p>Source of each namespace is located in the classpath, and only the first form is read.
+ * Libs listed in the `:require` and `:use` clauses of the `ns` form are considered to be dependencies.
+ * Namespaces without sources (e.g. AOT compiled), or with unreadable `ns` forms are considered to have no dependencies.
+ *
+ * @see #build(Collection, Predicate)
+ */
+final class NamespaceGraph {
+
+	private static final Symbol NS = Symbol.intern("ns");
+	private static final Keyword REQUIRE = Keyword.intern("require");
+	private static final Keyword USE = Keyword.intern("use");
+
+	private static final Object READ_OPTS = RT.map(Keyword.intern("read-cond"), Keyword.intern("allow"));
+
+	private NamespaceGraph() {
+	}
+
+	/**
+	 * <p>Build graph of the specified namespaces and all their transitive dependencies.
+	 *
+	 * <p>Namespaces matching the specified `skip` predicate are not included into the graph,
+	 * and their dependencies are not searched.
+	 *
+	 * @return map of namespace names to the names of their direct dependencies included into the graph.
+	 * Entries are ordered the way namespaces were discovered.
+	 */
+	static Map<String, Set<String>> build(Collection<String> namespaces, Predicate<String> skip) {
+		Map<String, Set<String>> graph = new LinkedHashMap<>();
+		Deque<String> queue = new ArrayDeque<>(namespaces);
+		while (!queue.isEmpty()) {
+			String ns = queue.poll();
+			if (graph.containsKey(ns) || skip.test(ns))
+				continue;
+			Set<String> deps = dependencies(ns);
+			graph.put(ns, deps);
+			queue.addAll(deps);
+		}
+		for (Set<String> deps : graph.values())
+			deps.retainAll(graph.keySet());
+		return graph;
+	}
+
+	/**
+	 * Read libs required by the `ns` form of the specified namespace
+	 */
+	static Set<String> dependencies(String ns) {
+		String path = ns.replace('-', '_').replace('.', '/');
+		ClassLoader loader = RT.baseLoader();
+		InputStream in = RT.resourceAsStream(loader, path + ".clj");
+		if (in == null)
+			in = RT.resourceAsStream(loader, path + ".cljc");
+		if (in == null)
+			return new LinkedHashSet<>();
+		try (PushbackReader reader = new PushbackReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+			return dependencies(readFirstForm(reader));
+		} catch (IOException | RuntimeException e) {
+			return new LinkedHashSet<>();
+		}
+	}
+
+	private static Object readFirstForm(PushbackReader reader) {
+		Var.pushThreadBindings(RT.map(RT.READEVAL, false));
+		try {
+			return LispReader.read(reader, false, null, false, READ_OPTS);
+		} finally {
+			Var.popThreadBindings();
+		}
+	}
+
+	private static Set<String> dependencies(Object form) {
+		Set<String> deps = new LinkedHashSet<>();
+		if (!(form instanceof ISeq) || !NS.equals(RT.first(form)))
+			return deps;
+		for (ISeq s = RT.next(RT.next(form)); s != null; s = s.next()) {
+			Object clause = s.first();
+			if (!(clause instanceof ISeq))
+				continue;
+			Object type = RT.first(clause);
+			if (REQUIRE.equals(type) || USE.equals(type))
+				for (ISeq spec = RT.next(clause); spec != null; spec = spec.next())
+					addLibs(deps, spec.first());
+		}
+		deps.remove(CljCore.NAME);
+		return deps;
+	}
+
+	/*
+	 * Lib spec is either a symbol, a vector starting with the symbol,
+	 * or a prefix list with a prefix symbol followed by symbols and vectors.
+	 */
+	private static void addLibs(Set<String> deps, Object spec) {
+		if (spec instanceof Symbol) {
+			deps.add(((Symbol) spec).getName());
+		} else if (spec instanceof IPersistentVector) {
+			Object lib = RT.first(spec);
+			if (lib instanceof Symbol)
+				deps.add(((Symbol) lib).getName());
+		} else if (spec instanceof ISeq && RT.first(spec) instanceof Symbol) {
+			String prefix = ((Symbol) RT.first(spec)).getName();
+			for (ISeq s = RT.next(spec); s != null; s = s.next()) {
+				Object lib = s.first() instanceof Sequential ? RT.first(s.first()) : s.first();
+				if (lib instanceof Symbol)
+					deps.add(prefix + "." + ((Symbol) lib).getName());
+			}
+		}
+	}
+
+	/**
+	 * <p>Order namespaces of the specified graph, so each namespace follows all of its dependencies.
+	 *
+	 * <p>Namespaces that cannot be ordered (cyclic dependencies) are placed at the end, in the order of the graph.
+	 */
+	static List<String> order(Map<String, Set<String>> graph) {
+		Map<String, Set<String>> dependents = dependents(graph);
+		Map<String, Integer> pending = new LinkedHashMap<>();
+		Deque<String> ready = new ArrayDeque<>();
+		for (Map.Entry<String, Set<String>> e : graph.entrySet()) {
+			pending.put(e.getKey(), e.getValue().size());
+			if (e.getValue().isEmpty())
+				ready.add(e.getKey());
+		}
+		List<String> order = new ArrayList<>(graph.size());
+		while (!ready.isEmpty()) {
+			String ns = ready.poll();
+			order.add(ns);
+			pending.remove(ns);
+			for (String dependent : dependents.get(ns))
+				if (pending.merge(dependent, -1, Integer::sum) == 0)
+					ready.add(dependent);
+		}
+		order.addAll(pending.keySet());
+		return order;
+	}
+
+	/**
+	 * Collect names of the namespaces that depend on each namespace in the specified graph
+	 */
+	static Map<String, Set<String>> dependents(Map<String, Set<String>> graph) {
+		Map<String, Set<String>> dependents = new LinkedHashMap<>();
+		for (String ns : graph.keySet())
+			dependents.put(ns, new LinkedHashSet<>());
+		for (Map.Entry<String, Set<String>> e : graph.entrySet())
+			for (String dep : e.getValue())
+				dependents.get(dep).add(e.getKey());
+		return Collections.unmodifiableMap(dependents);
+	}
+}
@@ -0,0 +1,127 @@
+package com.vsubhuman.clj;
+
+import java.time.Duration;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import clojure.lang.Util;
+
+/**
+ * <p>Loader of multiple namespaces in parallel.
+ *
+ * <p>Namespace is required only after all of its dependencies are loaded,
+ * so independent subtrees of the {@link NamespaceGraph} are loaded concurrently,
+ * but each namespace is loaded exactly once and never concurrently with its dependencies.
+ * Namespaces that cannot be ordered (cyclic dependencies) are required sequentially at the end.
+ *
+ * @see UberClj#preload(Collection, Executor)
+ */
+final class Preloader {
+
+	private final Map<String, Set<String>> dependents;
+	private final Map<String, AtomicInteger> pending = new ConcurrentHashMap<>();
+	private final Executor executor;
+	private final ClassLoader loader = Thread.currentThread().getContextClassLoader();
+
+	private final Queue<Map.Entry<String, Duration>> timings = new ConcurrentLinkedQueue<>();
+	private final AtomicReference<Throwable> failure = new AtomicReference<>();
+	private final AtomicInteger running = new AtomicInteger();
+	private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+	private Preloader(Map<String, Set<String>> graph, Executor executor) {
+		this.dependents = NamespaceGraph.dependents(graph);
+		this.executor = executor;
+		for (Map.Entry<String, Set<String>> e : graph.entrySet())
+			pending.put(e.getKey(), new AtomicInteger(e.getValue().size()));
+	}
+
+	/**
+	 * <p>Require all the specified namespaces and their not yet loaded dependencies,
+	 * using the specified executor to load independent namespaces concurrently.
+	 *
+	 * @return time spent loading each namespace (excluding its dependencies), in the order of loading
+	 */
+	static Map<String, Duration> preload(Collection<String> namespaces, Executor executor) {
+		Map<String, Set<String>> graph = NamespaceGraph.build(namespaces, CljCore::isLoaded);
+		return new Preloader(graph, executor).run();
+	}
+
+	private Map<String, Duration> run() {
+		running.incrementAndGet();
+		for (Map.Entry<String, AtomicInteger> e : pending.entrySet())
+			if (e.getValue().get() == 0)
+				submit(e.getKey());
+		finish();
+		done.join();
+
+		Throwable t = failure.get();
+		if (t != null)
+			throw Util.sneakyThrow(t);
+
+		// Only namespaces with cyclic dependencies are left, clojure will report them
+		for (Map.Entry<String, AtomicInteger> e : pending.entrySet())
+			if (e.getValue().get() > 0)
+				load(e.getKey());
+
+		Map<String, Duration> result = new LinkedHashMap<>();
+		for (Map.Entry<String, Duration> e : timings)
+			result.put(e.getKey(), e.getValue());
+		return Collections.unmodifiableMap(result);
+	}
+
+	private void submit(String ns) {
+		running.incrementAndGet();
+		try {
+			executor.execute(() -> {
+				try {
+					loadAndRelease(ns);
+				} catch (Throwable t) {
+					failure.compareAndSet(null, t);
+				} finally {
+					finish();
+				}
+			});
+		} catch (RuntimeException e) {
+			failure.compareAndSet(null, e);
+			finish();
+		}
+	}
+
+	private void loadAndRelease(String ns) {
+		Thread thread = Thread.currentThread();
+		ClassLoader previous = thread.getContextClassLoader();
+		thread.setContextClassLoader(loader);
+		try {
+			load(ns);
+		} finally {
+			thread.setContextClassLoader(previous);
+		}
+		if (failure.get() != null)
+			return;
+		for (String dependent : dependents.get(ns))
+			if (pending.get(dependent).decrementAndGet() == 0)
+				submit(dependent);
+	}
+
+	private void load(String ns) {
+		long start = System.nanoTime();
+		CljCore.require(ns);
+		timings.add(new SimpleImmutableEntry<>(ns, Duration.ofNanos(System.nanoTime() - start)));
+	}
+
+	private void finish() {
+		if (running.decrementAndGet() == 0)
+			done.complete(null);
+	}
+}
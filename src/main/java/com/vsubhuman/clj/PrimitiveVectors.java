@@ -0,0 +1,146 @@
+package com.vsubhuman.clj;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import clojure.core.ArrayManager;
+import clojure.core.Vec;
+import clojure.core.VecNode;
+import clojure.lang.IFn;
+import clojure.lang.IPersistentVector;
+import clojure.lang.ISeq;
+import clojure.lang.Keyword;
+import clojure.lang.RT;
+
+/**
+ * <p>Primitive-backed vectors (the ones created by `vector-of`), built from and copied into java arrays.
+ *
+ * <p>Vector is built in bulk: elements are copied into leaf arrays of the vector tree by whole chunks,
+ * and the tree is assembled bottom-up, instead of conj-ing elements one at a time.
+ * Elements of a vector of the same primitive type are copied out of it by whole leaf arrays as well,
+ * so in both directions elements are never boxed.
+ *
+ * @see UberClj#longVector(long...)
+ * @see UberClj#toLongArray(Object)
+ */
+final class PrimitiveVectors {
+
+	/**
+	 * Number of elements stored in a single node of a vector
+	 */
+	private static final int NODE_SIZE = 32;
+
+	private static final int NODE_BITS = 5;
+
+	private PrimitiveVectors() {
+	}
+
+	/*
+	 * Array managers are the same objects `vector-of` uses,
+	 * they're acquired lazily, since clojure.core has to be loaded for them.
+	 */
+	private static final class Managers {
+
+		static final ArrayManager LONG = manager("long");
+		static final ArrayManager INT = manager("int");
+		static final ArrayManager DOUBLE = manager("double");
+
+		private static ArrayManager manager(String type) {
+			IFn vectorOf = (IFn) RT.var(CljCore.NAME, "vector-of").deref();
+			return (ArrayManager) ((Vec) vectorOf.invoke(Keyword.intern(type))).am;
+		}
+	}
+
+	static IPersistentVector of(long[] elements) {
+		return create(Managers.LONG, elements, elements.length);
+	}
+
+	static IPersistentVector of(int[] elements) {
+		return create(Managers.INT, elements, elements.length);
+	}
+
+	static IPersistentVector of(double[] elements) {
+		return create(Managers.DOUBLE, elements, elements.length);
+	}
+
+	/*
+	 * Tree layout is the same as of the persistent vector:
+	 * all full leaves are stored in the tree, the last (possibly full) one is the tail.
+	 */
+	private static Vec create(ArrayManager am, Object array, int count) {
+		int tailOffset = count == 0 ? 0 : (count - 1) >>> NODE_BITS << NODE_BITS;
+		List<Object> level = new ArrayList<>(tailOffset >>> NODE_BITS);
+		for (int i = 0; i < tailOffset; i += NODE_SIZE) {
+			Object leaf = am.array(NODE_SIZE);
+			System.arraycopy(array, i, leaf, 0, NODE_SIZE);
+			level.add(new VecNode(null, leaf));
+		}
+		Object tail = am.array(count - tailOffset);
+		System.arraycopy(array, tailOffset, tail, 0, count - tailOffset);
+
+		int shift = NODE_BITS;
+		while (level.size() > NODE_SIZE) {
+			level = parents(level);
+			shift += NODE_BITS;
+		}
+		return new Vec(am, count, shift, branch(level, 0), tail, null);
+	}
+
+	private static List<Object> parents(List<Object> nodes) {
+		List<Object> parents = new ArrayList<>((nodes.size() + NODE_SIZE - 1) >>> NODE_BITS);
+		for (int i = 0; i < nodes.size(); i += NODE_SIZE)
+			parents.add(branch(nodes, i));
+		return parents;
+	}
+
+	private static VecNode branch(List<Object> nodes, int from) {
+		Object[] children = new Object[NODE_SIZE];
+		int to = Math.min(nodes.size(), from + NODE_SIZE);
+		for (int i = from; i < to; i++)
+			children[i - from] = nodes.get(i);
+		return new VecNode(null, children);
+	}
+
+	static long[] toLongArray(Object coll) {
+		long[] result = new long[RT.count(coll)];
+		if (!copyLeaves(coll, Managers.LONG, result)) {
+			int i = 0;
+			for (ISeq s = RT.seq(coll); s != null; s = s.next())
+				result[i++] = RT.longCast(s.first());
+		}
+		return result;
+	}
+
+	static int[] toIntArray(Object coll) {
+		int[] result = new int[RT.count(coll)];
+		if (!copyLeaves(coll, Managers.INT, result)) {
+			int i = 0;
+			for (ISeq s = RT.seq(coll); s != null; s = s.next())
+				result[i++] = RT.intCast(s.first());
+		}
+		return result;
+	}
+
+	static double[] toDoubleArray(Object coll) {
+		double[] result = new double[RT.count(coll)];
+		if (!copyLeaves(coll, Managers.DOUBLE, result)) {
+			int i = 0;
+			for (ISeq s = RT.seq(coll); s != null; s = s.next())
+				result[i++] = RT.doubleCast(s.first());
+		}
+		return result;
+	}
+
+	/*
+	 * Leaves (and the tail) of the vector start at indexes divisible by the node size,
+	 * so each of them is copied as a whole.
+	 */
+	private static boolean copyLeaves(Object coll, ArrayManager am, Object result) {
+		if (!(coll instanceof Vec) || ((Vec) coll).am != am)
+			return false;
+		Vec vec = (Vec) coll;
+		for (int i = 0; i < vec.cnt; i += NODE_SIZE)
+			System.arraycopy(vec.arrayFor(i), 0, result, i, Math.min(NODE_SIZE, vec.cnt - i));
+		return true;
+	}
+}
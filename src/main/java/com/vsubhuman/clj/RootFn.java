@@ -0,0 +1,49 @@
+package com.vsubhuman.clj;
+
+import clojure.lang.IDeref;
+import clojure.lang.Var;
+
+/**
+ * <p>Root function of a var, read from the var on each access.
+ *
+ * <p>Unlike {@link LiveRoot} no watch is added to the var, so the handle holds no resources
+ * and needs no closing: root of the var is a volatile field itself, so redefinitions are visible anyway.
+ * Var is revalidated against the {@link VarCache#version()} of its namespace,
+ * so when the var is unmapped and defined again (or the namespace is reloaded) the new var is read instead.
+ *
+ * <p>Classes generated by the binder are defined by a separate class loader, so they see the handle
+ * only thru the public {@link IDeref} interface.
+ *
+ * @see Binder
+ */
+final class RootFn implements IDeref {
+
+	private final VarCache cache;
+	private final String name;
+
+	private volatile Var var;
+	private volatile int version;
+
+	RootFn(VarCache cache, String name) {
+		this.cache = cache;
+		this.name = name;
+		this.version = cache.version();
+		this.var = cache.get(name);
+	}
+
+	/**
+	 * Current root value of the var
+	 */
+	@Override
+	public Object deref() {
+		if (version != cache.version())
+			revalidate();
+		return var.getRawRoot();
+	}
+
+	private synchronized void revalidate() {
+		int current = cache.version();
+		var = cache.get(name);
+		version = current;
+	}
+}
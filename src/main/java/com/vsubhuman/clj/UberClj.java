@@ -1,17 +1,40 @@
 package com.vsubhuman.clj;
 
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
-import clojure.java.api.Clojure;
 import clojure.lang.IFn;
 import clojure.lang.IPersistentList;
+import clojure.lang.IPersistentMap;
+import clojure.lang.IPersistentVector;
 import clojure.lang.ISeq;
+import clojure.lang.ITransientMap;
+import clojure.lang.Keyword;
+import clojure.lang.Namespace;
 import clojure.lang.PersistentHashMap;
 import clojure.lang.PersistentHashSet;
 import clojure.lang.PersistentList;
 import clojure.lang.PersistentVector;
+import clojure.lang.Symbol;
 import clojure.lang.Var;
 
 /**
@@ -24,26 +47,93 @@ import clojure.lang.Var;
  */
 public final class UberClj {
 
+	private static final ConcurrentMap<String, CljNamespace> NAMESPACES = new ConcurrentHashMap<>();
+
+	/**
+	 * Number of elements stored in a single node of a persistent vector
+	 */
+	private static final int VECTOR_NODE_SIZE = 32;
+
 	private UberClj() {
 	}
 
 	/**
 	 * <p>Require a namespace identified by the specified symbol and return the name-space wrapper object.
 	 * 
+	 * <p>The same wrapper instance is returned for all the requires of the same namespace.
+	 * 
 	 * @see CljNamespace
 	 */
 	public static CljNamespace require(String ns) {
-		return new CljNamespace(ns);
+		CljNamespace namespace = NAMESPACES.get(ns);
+		if (namespace != null)
+			return namespace;
+		namespace = new CljNamespace(ns);
+		CljNamespace existing = NAMESPACES.putIfAbsent(ns, namespace);
+		return existing != null ? existing : namespace;
+	}
+
+	/**
+	 * <p>Require all the specified namespaces, loading independent ones in parallel.
+	 * 
+	 * <p>Dependencies of the namespaces are read from their `ns` forms, and each namespace is loaded
+	 * by the specified executor only after all its dependencies are loaded.
+	 * Already loaded namespaces and their dependencies are skipped.
+	 * The calling thread is blocked until all namespaces are loaded.
+	 * 
+	 * @return time spent loading each namespace (excluding loading of its dependencies),
+	 * ordered the way namespaces were loaded
+	 * 
+	 * @see #require(String)
+	 */
+	public static Map<String, Duration> preload(Collection<String> namespaces, Executor executor) {
+		return Preloader.preload(namespaces, executor);
 	}
 
+	/**
+	 * <p>Reload all the specified namespaces (the same way as `(require ns :reload)`) in dependency order,
+	 * so each namespace is reloaded after those of its dependencies that are also specified.
+	 * Dependencies are followed transitively thru the namespaces that are not specified (except clojure libs),
+	 * though only the specified namespaces are reloaded.
+	 * Version of each namespace is incremented.
+	 * 
+	 * <p>Namespaces are reloaded sequentially in the calling thread,
+	 * and vars are redefined in place, so functions stay callable while namespaces are reloaded.
+	 * 
+	 * @return names of the reloaded namespaces, in the order of reloading
+	 * 
+	 * @see CljNamespace#reload()
+	 */
+	public static List<String> reloadAll(Collection<String> namespaces) {
+		Set<String> specified = new LinkedHashSet<>(namespaces);
+		Map<String, Set<String>> graph = NamespaceGraph.build(specified,
+				ns -> ns.startsWith("clojure.") && !specified.contains(ns));
+		List<String> order = new ArrayList<>(specified.size());
+		for (String ns : NamespaceGraph.order(graph)) {
+			if (!specified.contains(ns))
+				continue;
+			CljCore.reload(ns);
+			VarCache.of(ns).invalidate();
+			order.add(ns);
+		}
+		return order;
+	}
+	
 	/**
 	 * <p>Read var in the specified name-space, at the specified name
 	 * 
 	 * <p><b>Note:</b> that this method will return the variable itself, and not its value!
 	 * `Var` is an entity in clojure that's linked to a namespace and contains a value that change over time.
+	 * 
+	 * <p>Resolved vars are cached, so repeated lookups of the same var are cheap.
+	 * Vars unmapped (or namespaces removed) from clojure code are detected on the next lookup,
+	 * and a new var is resolved instead.
+	 * 
+	 * @see #unmap(String, String)
+	 * @see #invalidate(String)
 	 */
 	public static Var var(String ns, String name) {
-		return (Var) Clojure.var(ns, name);
+		return VarCache.get(ns, name);
 	}
 
 	/**
@@ -53,10 +143,13 @@ public final class UberClj {
 	 */
 	@SuppressWarnings("unchecked")
 	public static <T> T value(String ns, String name) {
-		Var var = var(ns, name);
+		return (T) value(var(ns, name));
+	}
+	
+	static Object value(Var var) {
 		if (var.isBound())
-			return (T) var(ns, name).deref();
-		throw new NoSuchElementException("No bound value found for: " + ns + "/" + name);
+			return var.deref();
+		throw new NoSuchElementException("No bound value found for: " + var.ns + "/" + var.sym);
 	}
 
 	/**
@@ -75,7 +168,115 @@ public final class UberClj {
 	}
 	
 	/**
-	 * Call function identified by the specified name with specified arguments.
+	 * <p>Acquire the function and wrap it into a function caching its results by arguments,
+	 * in a bounded cache configured by the specified spec.
+	 * 
+	 * @throws NoSuchElementException in case no such var is bound
+	 * 
+	 * @see CljMemoFn
+	 * @see CljCacheSpec
+	 */
+	public static CljMemoFn memoized(String ns, String name, CljCacheSpec spec) {
+		return new CljMemoFn(VarCache.of(ns), name, spec);
+	}
+	
+	/**
+	 * <p>Acquire handle of the var's root value, that is kept up to date when the var is redefined.
+	 * 
+	 * @throws NoSuchElementException in case no such var is bound
+	 * 
+	 * @see CljLiveVar
+	 */
+	public static <T> CljLiveVar<T> liveVar(String ns, String name) {
+		return new CljLiveVar<>(VarCache.of(ns), name);
+	}
+	
+	/**
+	 * <p>Acquire handle of the function, that always calls the current root value of the var.
+	 * 
+	 * <p>Handle is as fast to call as the function itself (a single volatile read is added),
+	 * but unlike the function value returned by {@link #fn(String, String)} it never becomes stale.
+	 * 
+	 * @throws NoSuchElementException in case no such var is bound
+	 * @throws IllegalArgumentException in case the var is not bound to a function
+	 * 
+	 * @see CljLiveFn
+	 */
+	public static CljLiveFn liveFn(String ns, String name) {
+		return new CljLiveFn(VarCache.of(ns), name);
+	}
+	
+	/**
+	 * <p>Acquire handle of the atom bound to the var, to update it by java functions.
+	 * 
+	 * <p>The atom is read from the var on each update, so in case the var is redefined
+	 * (e.g. the namespace is reloaded) the handle updates the new atom.
+	 * 
+	 * @throws NoSuchElementException in case no such var is bound
+	 * @throws IllegalArgumentException in case the var is not bound to an atom
+	 * 
+	 * @see CljAtom
+	 */
+	public static <T> CljAtom<T> atom(String ns, String name) {
+		return new CljAtom<>(VarCache.of(ns), name);
+	}
+	
+	/**
+	 * <p>Create state sharded across atoms, one per available processor (rounded up to a power of two),
+	 * merged on read by the specified function starting from the specified identity value.
+	 * 
+	 * @see CljStripedAtom
+	 * @see #stripedAtom(int, Object, BinaryOperator)
+	 */
+	public static <T> CljStripedAtom<T> stripedAtom(T identity, BinaryOperator<T> merge) {
+		return stripedAtom(Runtime.getRuntime().availableProcessors(), identity, merge);
+	}
+	
+	/**
+	 * <p>Create state sharded across the specified number of atoms (rounded up to a power of two),
+	 * merged on read by the specified function starting from the specified identity value.
+	 * 
+	 * @throws IllegalArgumentException in case number of stripes is not positive
+	 * 
+	 * @see CljStripedAtom
+	 */
+	public static <T> CljStripedAtom<T> stripedAtom(int stripes, T identity, BinaryOperator<T> merge) {
+		return new CljStripedAtom<>(stripes, identity, merge);
+	}
+	
+	/**
+	 * <p>Remove the mapping for the specified name from the specified namespace.
+	 * 
+	 * <p>Var cached for that name is also dropped, so the next lookup will find a new var.
+	 * 
+	 * @see #var(String, String)
+	 */
+	public static void unmap(String ns, String name) {
+		Namespace namespace = Namespace.find(Symbol.intern(ns));
+		if (namespace != null)
+			namespace.unmap(Symbol.intern(name));
+		VarCache.of(ns).invalidate(name);
+	}
+	
+	/**
+	 * <p>Drop all cached vars of the specified namespace.
+	 * 
+	 * <p>Cached vars stay valid while a namespace is redefined or reloaded,
+	 * and vars unmapped from clojure code are detected on the next lookup,
+	 * so this method is needed only to drop all the vars at once (e.g. to free memory).
+	 * 
+	 * @see #var(String, String)
+	 * @see #unmap(String, String)
+	 */
+	public static void invalidate(String ns) {
+		VarCache.of(ns).invalidate();
+	}
+	
+	/**
+	 * <p>Call function identified by the specified name with specified arguments.
+	 * 
+	 * <p>Up to 20 arguments are passed directly to the matching fixed arity of the function,
+	 * `applyTo` is used only for the larger number of arguments.
 	 * 
 	 * @throws NoSuchElementException in case no such var is bound
 	 * 
@@ -83,7 +284,79 @@ public final class UberClj {
 	 */
 	@SuppressWarnings("unchecked")
 	public static <T> T call(String ns, String name, Object... args) {
-		return (T) fn(ns, name).applyTo(seq(args));
+		if (CljMetrics.ENABLED)
+			return (T) CljMetrics.call(ns, name, fn(ns, name), args);
+		return (T) Invoker.invoke(fn(ns, name), args);
+	}
+	
+	/**
+	 * Call function identified by the specified name without arguments.
+	 * 
+	 * @throws NoSuchElementException in case no such var is bound
+	 * 
+	 * @see #call(String, String, Object...)
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> T call(String ns, String name) {
+		if (CljMetrics.ENABLED)
+			return (T) CljMetrics.call(ns, name, fn(ns, name), Invoker.NO_ARGS);
+		return (T) fn(ns, name).invoke();
+	}
+	
+	/**
+	 * Call function identified by the specified name with a single argument.
+	 * 
+	 * @throws NoSuchElementException in case no such var is bound
+	 * 
+	 * @see #call(String, String, Object...)
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> T call(String ns, String name, Object a) {
+		if (CljMetrics.ENABLED)
+			return (T) CljMetrics.call(ns, name, fn(ns, name), new Object[]{ a });
+		return (T) fn(ns, name).invoke(a);
+	}
+	
+	/**
+	 * Call function identified by the specified name with two arguments.
+	 * 
+	 * @throws NoSuchElementException in case no such var is bound
+	 * 
+	 * @see #call(String, String, Object...)
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> T call(String ns, String name, Object a, Object b) {
+		if (CljMetrics.ENABLED)
+			return (T) CljMetrics.call(ns, name, fn(ns, name), new Object[]{ a, b });
+		return (T) fn(ns, name).invoke(a, b);
+	}
+	
+	/**
+	 * Call function identified by the specified name with three arguments.
+	 * 
+	 * @throws NoSuchElementException in case no such var is bound
+	 * 
+	 * @see #call(String, String, Object...)
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> T call(String ns, String name, Object a, Object b, Object c) {
+		if (CljMetrics.ENABLED)
+			return (T) CljMetrics.call(ns, name, fn(ns, name), new Object[]{ a, b, c });
+		return (T) fn(ns, name).invoke(a, b, c);
+	}
+	
+	/**
+	 * Call function identified by the specified name with four arguments.
+	 * 
+	 * @throws NoSuchElementException in case no such var is bound
+	 * 
+	 * @see #call(String, String, Object...)
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> T call(String ns, String name, Object a, Object b, Object c, Object d) {
+		if (CljMetrics.ENABLED)
+			return (T) CljMetrics.call(ns, name, fn(ns, name), new Object[]{ a, b, c, d });
+		return (T) fn(ns, name).invoke(a, b, c, d);
 	}
 	
 	/**
@@ -95,15 +368,115 @@ public final class UberClj {
 	 */
 	@SuppressWarnings("unchecked")
 	public static <T> T call(String ns, String name, Collection<?> args) {
-		return (T) fn(ns, name).applyTo(seq(args));
+		Object[] array = args.toArray();
+		if (CljMetrics.ENABLED)
+			return (T) CljMetrics.call(ns, name, fn(ns, name), array);
+		return (T) Invoker.invoke(fn(ns, name), array);
+	}
+	
+	/**
+	 * <p>Require the specified namespace and create implementation of the specified interface
+	 * backed by the functions of the namespace.
+	 * 
+	 * @throws IllegalArgumentException in case specified class is not a public interface,
+	 * or a function doesn't accept the number of arguments of its method
+	 * @throws NoSuchElementException in case there's no function bound for an abstract method
+	 * 
+	 * @see CljNamespace#bind(Class)
+	 */
+	public static <T> T bind(Class<T> iface, String ns) {
+		return require(ns).bind(iface);
+	}
+	
+	/**
+	 * <p>Call function identified by the specified name asynchronously, in the default executor.
+	 * 
+	 * <p>Function is resolved in the calling thread, and dynamic bindings of the calling thread
+	 * are conveyed to the executing thread.
+	 * 
+	 * @throws NoSuchElementException in case no such var is bound
+	 * 
+	 * @see CljAsync#defaultExecutor()
+	 * @see #callAsync(Executor, String, String, Object...)
+	 */
+	public static <T> CompletableFuture<T> callAsync(String ns, String name, Object... args) {
+		return callAsync(CljAsync.defaultExecutor(), ns, name, args);
+	}
+	
+	/**
+	 * <p>Call function identified by the specified name asynchronously, in the specified executor.
+	 * 
+	 * <p>Function is resolved in the calling thread, and dynamic bindings of the calling thread
+	 * are conveyed to the executing thread.
+	 * 
+	 * @throws NoSuchElementException in case no such var is bound
+	 * 
+	 * @see #callAsync(String, String, Object...)
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> CompletableFuture<T> callAsync(Executor executor, String ns, String name, Object... args) {
+		IFn fn = fn(ns, name);
+		return CljAsync.supply(() -> (T) Invoker.invoke(fn, args), executor);
+	}
+	
+	/**
+	 * Reduce the specified collection in parallel, with the default partition size
+	 * 
+	 * @see #fold(Object, IFn, IFn, int)
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> T fold(Object coll, IFn combine, IFn reduce) {
+		return (T) Folds.fold(coll, combine, reduce, Folds.PARTITION_SIZE);
+	}
+	
+	/**
+	 * <p>Reduce the specified collection in parallel, using `clojure.core.reducers/fold`.
+	 * 
+	 * <p>Vectors and hash maps are split into partitions of about the specified size,
+	 * which are reduced in parallel in the fork-join pool. Initial value of each partition is
+	 * created by calling `combine` without arguments, and results of partitions are combined by `combine`.
+	 * Map entries are passed to `reduce` as separate key and value.
+	 * Other collections are reduced sequentially.
+	 * 
+	 * @see #fold(Object, Supplier, BinaryOperator, BiFunction, int)
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> T fold(Object coll, IFn combine, IFn reduce, int partitionSize) {
+		return (T) Folds.fold(coll, combine, reduce, partitionSize);
+	}
+	
+	/**
+	 * Reduce the specified collection in parallel, with the default partition size
+	 * 
+	 * @see #fold(Object, Supplier, BinaryOperator, BiFunction, int)
+	 */
+	public static <T> T fold(Object coll, Supplier<T> identity, BinaryOperator<T> combine, BiFunction<T, Object, T> reduce) {
+		return fold(coll, identity, combine, reduce, Folds.PARTITION_SIZE);
+	}
+	
+	/**
+	 * <p>Reduce the specified collection in parallel, using java functions.
+	 * 
+	 * <p>Initial value of each partition is created by `identity`, elements are accumulated by `reduce`,
+	 * and results of partitions are combined by `combine`. Map entries are passed to `reduce` as map entries.
+	 * 
+	 * @see #fold(Object, IFn, IFn, int)
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> T fold(Object coll, Supplier<T> identity, BinaryOperator<T> combine,
+			BiFunction<T, Object, T> reduce, int partitionSize) {
+		return (T) Folds.fold(coll, identity, combine, reduce, partitionSize);
 	}
 	
 	/**
 	 * Create a persistent vector from the specified elements
 	 * 
 	 * @see #vector(Collection)
+	 * @see #vectorBuilder()
 	 */
 	public static PersistentVector vector(Object... elements) {
+		if (elements.length <= VECTOR_NODE_SIZE)
+			return PersistentVector.adopt(elements.clone());
 		return PersistentVector.create(elements);
 	}
 	
@@ -111,38 +484,148 @@ public final class UberClj {
 	 * Create a persistent vector from the specified elements
 	 * 
 	 * @see #vector(Object...)
+	 * @see #vectorBuilder()
 	 */
 	public static PersistentVector vector(Collection<?> elements) {
 		return PersistentVector.create(elements);
 	}
 	
+	/**
+	 * <p>Create a persistent vector from the elements of the specified iterable.
+	 * 
+	 * <p>Named differently from {@link #vector(Object...)},
+	 * so an iterable passed there (e.g. a path or a clojure map) is still a single element.
+	 * 
+	 * @see #vector(Collection)
+	 * @see #vectorBuilder()
+	 */
+	public static PersistentVector vectorOf(Iterable<?> elements) {
+		return PersistentVector.create(elements);
+	}
+	
+	/**
+	 * <p>Create a builder of a persistent vector.
+	 * 
+	 * <p>Builder is backed by a clojure transient,
+	 * so elements are added without creating intermediate persistent vectors.
+	 * 
+	 * @see #vectorBuilder(int)
+	 * @see #vector(Object...)
+	 */
+	public static CljVectorBuilder vectorBuilder() {
+		return new CljVectorBuilder(0);
+	}
+	
+	/**
+	 * <p>Create a builder of a persistent vector with the expected number of elements.
+	 * 
+	 * <p>Small vectors are collected into an array of the expected size, adopted by the vector without copying,
+	 * larger vectors are built by a clojure transient.
+	 * 
+	 * @see #vectorBuilder()
+	 * @see #vector(Object...)
+	 */
+	public static CljVectorBuilder vectorBuilder(int expectedSize) {
+		return new CljVectorBuilder(expectedSize);
+	}
+	
+	/**
+	 * <p>Create a primitive vector of longs (the one created by `(vector-of :long)`) from the specified elements.
+	 * 
+	 * <p>Vector is built in bulk, by whole chunks of the array, and elements are never boxed.
+	 * 
+	 * @see #toLongArray(Object)
+	 */
+	public static IPersistentVector longVector(long... elements) {
+		return PrimitiveVectors.of(elements);
+	}
+	
+	/**
+	 * <p>Create a primitive vector of ints (the one created by `(vector-of :int)`) from the specified elements.
+	 * 
+	 * <p>Vector is built in bulk, by whole chunks of the array, and elements are never boxed.
+	 * 
+	 * @see #toIntArray(Object)
+	 */
+	public static IPersistentVector intVector(int... elements) {
+		return PrimitiveVectors.of(elements);
+	}
+	
+	/**
+	 * <p>Create a primitive vector of doubles (the one created by `(vector-of :double)`) from the specified elements.
+	 * 
+	 * <p>Vector is built in bulk, by whole chunks of the array, and elements are never boxed.
+	 * 
+	 * @see #toDoubleArray(Object)
+	 */
+	public static IPersistentVector doubleVector(double... elements) {
+		return PrimitiveVectors.of(elements);
+	}
+	
+	/**
+	 * <p>Copy elements of the specified collection into a new array of longs.
+	 * 
+	 * <p>Elements of a primitive vector of longs are copied by whole chunks without boxing,
+	 * elements of any other collection are cast to longs one by one.
+	 * 
+	 * @see #longVector(long...)
+	 */
+	public static long[] toLongArray(Object coll) {
+		return PrimitiveVectors.toLongArray(coll);
+	}
+	
+	/**
+	 * <p>Copy elements of the specified collection into a new array of ints.
+	 * 
+	 * <p>Elements of a primitive vector of ints are copied by whole chunks without boxing,
+	 * elements of any other collection are cast to ints one by one.
+	 * 
+	 * @see #intVector(int...)
+	 */
+	public static int[] toIntArray(Object coll) {
+		return PrimitiveVectors.toIntArray(coll);
+	}
+	
+	/**
+	 * <p>Copy elements of the specified collection into a new array of doubles.
+	 * 
+	 * <p>Elements of a primitive vector of doubles are copied by whole chunks without boxing,
+	 * elements of any other collection are cast to doubles one by one.
+	 * 
+	 * @see #doubleVector(double...)
+	 */
+	public static double[] toDoubleArray(Object coll) {
+		return PrimitiveVectors.toDoubleArray(coll);
+	}
+	
 	/**
 	 * Create a persistent list from the specified elements
 	 * 
 	 * @see #list(Collection)
 	 */
 	public static IPersistentList list(Object... elements) {
-		return PersistentList.create(vector(elements));
+		return PersistentList.create(Arrays.asList(elements));
 	}
 	
 	/**
 	 * <p>Create a persistent list from the specified elements
 	 * 
 	 * <p><b>Note:</b> the most direct construction will be performed by this method
-	 * if you pass it an instance of {@link List}. Otherwise - list will be constructed thru a vector.
+	 * if you pass it an instance of {@link List}. Otherwise - list will be constructed thru an array copy.
 	 * 
 	 * @see #list(Object...)
 	 */
 	public static IPersistentList list(Collection<?> elements) {
 		return PersistentList.create(
 				elements instanceof List ?
-						(List<?>) elements : vector(elements));
+						(List<?>) elements : Arrays.asList(elements.toArray()));
 	}
 	
 	/**
 	 * Create a persistent set (removed duplicated elements)
 	 * 
 	 * @see #set(Collection)
+	 * @see #setBuilder()
 	 */
 	public static PersistentHashSet set(Object... elements) {
 		return PersistentHashSet.create(elements);
@@ -152,9 +635,68 @@ public final class UberClj {
 	 * Create a persistent set (removed duplicated elements)
 	 * 
 	 * @see #set(Object...)
+	 * @see #setBuilder()
 	 */
 	public static PersistentHashSet set(Collection<?> elements) {
-		return PersistentHashSet.create(elements);
+		return setBuilder().addAll(elements).build();
+	}
+	
+	/**
+	 * <p>Create a persistent set from the elements of the specified iterable (removed duplicated elements).
+	 * 
+	 * <p>Named differently from {@link #set(Object...)},
+	 * so an iterable passed there (e.g. a path or a clojure map) is still a single element.
+	 * 
+	 * @see #set(Collection)
+	 * @see #setBuilder()
+	 */
+	public static PersistentHashSet setOf(Iterable<?> elements) {
+		return setBuilder().addAll(elements).build();
+	}
+	
+	/**
+	 * <p>Create a builder of a persistent set.
+	 * 
+	 * <p>Builder is backed by a clojure transient,
+	 * so elements are added without creating intermediate persistent sets.
+	 * 
+	 * @see #set(Object...)
+	 */
+	public static CljSetBuilder setBuilder() {
+		return new CljSetBuilder();
+	}
+	
+	/**
+	 * <p>Acquire keyword with the specified name (may be namespace qualified: "ns/name").
+	 * 
+	 * <p>Keywords are interned once and then are cached by their names,
+	 * so acquiring a keyword doesn't allocate and doesn't touch the global keyword table.
+	 * 
+	 * @see #keyLookup(String)
+	 */
+	public static Keyword key(String name) {
+		return KeyCache.keyword(name);
+	}
+	
+	/**
+	 * <p>Acquire symbol with the specified name (may be namespace qualified: "ns/name").
+	 * 
+	 * <p>Symbols are interned once and then are cached by their names.
+	 */
+	public static Symbol symbol(String name) {
+		return KeyCache.symbol(name);
+	}
+	
+	/**
+	 * <p>Create lookup of the keyword with the specified name in maps and records.
+	 * 
+	 * <p>Lookup reads fields of records directly, the same way keyword call sites of compiled clojure code do.
+	 * 
+	 * @see CljKeyLookup
+	 * @see #key(String)
+	 */
+	public static CljKeyLookup keyLookup(String name) {
+		return new CljKeyLookup(key(name));
 	}
 	
 	/**
@@ -164,6 +706,7 @@ public final class UberClj {
 	 * @throws IllegalArgumentException in case odd number of elements is passed
 	 * 
 	 * @see #map(Collection)
+	 * @see #mapBuilder(int)
 	 */
 	public static PersistentHashMap map(Object... elements) {
 		assertMapSize(elements.length);
@@ -177,15 +720,182 @@ public final class UberClj {
 	 * @throws IllegalArgumentException in case odd number of elements is passed
 	 * 
 	 * @see #map(Object...)
+	 * @see #mapBuilder(int)
 	 */
 	public static PersistentHashMap map(Collection<?> elements) {
 		assertMapSize(elements.size());
-		return PersistentHashMap.create(elements);
+		ITransientMap map = PersistentHashMap.EMPTY.asTransient();
+		for (Iterator<?> it = elements.iterator(); it.hasNext();)
+			map = map.assoc(it.next(), it.next());
+		return (PersistentHashMap) map.persistent();
+	}
+	
+	/**
+	 * <p>Create a persistent map with all the entries of the specified java map.
+	 * 
+	 * <p>Small maps are created as array maps.
+	 * 
+	 * @see #map(Object...)
+	 * @see #mapBuilder(int)
+	 */
+	public static IPersistentMap map(Map<?, ?> entries) {
+		return mapBuilder(entries.size()).putAll(entries).build();
 	}
 	
-	private static void assertMapSize(int size) {
+	/**
+	 * <p>Create a builder of a persistent map.
+	 * 
+	 * <p>Builder is backed by a clojure transient,
+	 * so entries are added without creating intermediate persistent maps.
+	 * 
+	 * @see #mapBuilder(int)
+	 * @see #map(Object...)
+	 */
+	public static CljMapBuilder mapBuilder() {
+		return new CljMapBuilder(0);
+	}
+	
+	/**
+	 * <p>Create a builder of a persistent map with the expected number of entries.
+	 * 
+	 * <p>Builder is backed by a clojure transient,
+	 * so entries are added without creating intermediate persistent maps.
+	 * Small maps are built as array maps, large maps are built as hash maps from the very beginning.
+	 * 
+	 * @see #mapBuilder()
+	 * @see #map(Object...)
+	 */
+	public static CljMapBuilder mapBuilder(int expectedSize) {
+		return new CljMapBuilder(expectedSize);
+	}
+	
+	/**
+	 * <p>Create a read-only persistent map view over the specified java map.
+	 * 
+	 * <p>Java map is not copied, so the view is created in constant time and clojure code reads the java map directly.
+	 * Nested java maps are also read as views. Entries are copied into a regular persistent map
+	 * only in case the view is modified (e.g. by `assoc`).
+	 * 
+	 * @see CljMapView
+	 * @see #toClj(Object)
+	 */
+	public static CljMapView mapView(Map<?, ?> map) {
+		return new CljMapView(map, null);
+	}
+	
+	/**
+	 * <p>Convert the specified java value into clojure data, recursively.
+	 * 
+	 * <p>Java maps are converted into persistent maps, sets into persistent sets,
+	 * other collections and object arrays into persistent vectors.
+	 * Clojure collections and all other values are returned as they are.
+	 * 
+	 * @see #mapView(Map)
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> T toClj(Object value) {
+		return (T) DataConverter.toClj(value);
+	}
+	
+	/**
+	 * <p>Convert properties of the specified java bean into a clojure map, recursively.
+	 * 
+	 * <p>Properties are read thru public getters (or components, in case of a record)
+	 * and keyed by kebab-cased keywords (e.g. `getFirstName` by `:first-name`).
+	 * Getters of each class are resolved once into method handles, so no reflection is performed per conversion.
+	 * Nested beans and records of non-JDK classes are converted into maps as well,
+	 * collections are converted the way {@link #toClj(Object)} converts them.
+	 * 
+	 * @see #fromRecord(Object)
+	 */
+	public static IPersistentMap fromBean(Object bean) {
+		return BeanConverter.fromBean(bean);
+	}
+	
+	/**
+	 * <p>Convert components of the specified java record into a clojure map, recursively.
+	 * 
+	 * <p>Conversion is the same as performed by {@link #fromBean(Object)}.
+	 * Records exist only on java 16+, so the record is accepted as any object, and is checked at runtime.
+	 * 
+	 * @throws IllegalArgumentException in case the specified object is not a record
+	 * 
+	 * @see #toRecord(Class, Map)
+	 */
+	public static IPersistentMap fromRecord(Object record) {
+		return BeanConverter.fromRecord(record);
+	}
+	
+	/**
+	 * <p>Create a java record of the specified type from the values of the specified map.
+	 * 
+	 * <p>Components are read by kebab-cased keywords (e.g. `firstName` from `:first-name`),
+	 * missing components are `null` (zero for primitives). Clojure numbers are cast to primitive components
+	 * the way clojure casts them. Nested maps are converted into nested records, for components of record types.
+	 * Constructor of each record type is resolved once into a method handle.
+	 * 
+	 * @throws IllegalArgumentException in case the specified type is not a record
+	 * @throws ClassCastException in case a value doesn't match its component
+	 * 
+	 * @see #fromRecord(Object)
+	 */
+	public static <R> R toRecord(Class<R> type, Map<?, ?> map) {
+		return BeanConverter.toRecord(type, map);
+	}
+	
+	/**
+	 * <p>Create a java stream of the elements of the specified clojure collection.
+	 * 
+	 * <p>Vectors are split by index ranges, so parallel streams over vectors are split evenly.
+	 * Maps are streamed as map entries. Lazy seqs (and all other seqable values)
+	 * are streamed incrementally, so they're realized only as far as the stream is consumed.
+	 * `nil` is streamed as an empty stream.
+	 * 
+	 * @see #seq(Object...)
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> Stream<T> stream(Object coll) {
+		return (Stream<T>) StreamSupport.stream(CljSpliterators.of(coll), false);
+	}
+	
+	static void assertMapSize(int size) {
 		if ((size & 1) > 0)
-			throw new IllegalArgumentException("Map may be constructed only from even number of elements!");
+			throw oddMapSize();
+	}
+	
+	static IllegalArgumentException oddMapSize() {
+		return new IllegalArgumentException("Map may be constructed only from even number of elements!");
+	}
+	
+	/**
+	 * <p>Read top-level EDN forms of the file at the specified path incrementally.
+	 * 
+	 * <p>File is read thru memory-mapped windows, and forms are read only as the stream is consumed,
+	 * so files of any size are read with bounded memory. Stream should be closed to close the file, e.g.:
+	 * <pre>
+	 * 	try (Stream&lt;Object&gt; forms = UberClj.readEdn(path)) {
+	 * 		forms.forEach(...);
+	 * 	}
+	 * </pre>
+	 * 
+	 * @throws java.io.UncheckedIOException in case file cannot be opened
+	 * 
+	 * @see CljEdnReader
+	 */
+	public static Stream<Object> readEdn(Path path) {
+		return CljEdnReader.open(path).stream();
+	}
+	
+	/**
+	 * <p>Read top-level EDN forms from the specified channel incrementally.
+	 * 
+	 * <p>Forms are read only as the stream is consumed, so only a fixed size buffer is held in memory.
+	 * Closing the stream closes the channel.
+	 * 
+	 * @see CljEdnReader
+	 */
+	public static Stream<Object> readEdnStream(ReadableByteChannel channel) {
+		return CljEdnReader.of(channel).stream();
 	}
 	
 	/**
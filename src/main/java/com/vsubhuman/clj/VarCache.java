@@ -0,0 +1,197 @@
+package com.vsubhuman.clj;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import clojure.lang.IPersistentMap;
+import clojure.lang.Namespace;
+import clojure.lang.RT;
+import clojure.lang.Symbol;
+import clojure.lang.Var;
+
+/**
+ * <p>Cache of the resolved vars of a single namespace.
+ *
+ * <p>Resolving a var interns both symbols and performs namespace and mapping lookups,
+ * so resolved vars are cached by their names.
+ * Cached var is the same object as interned one, so redefining it in clojure is visible thru the cache.
+ *
+ * <p>Vars may also be unmapped (or the whole namespace removed) from clojure code, not thru the interop API.
+ * Each access compares the mappings of the namespace with the ones the cached vars were validated against
+ * (an identity check, since mappings are a persistent map replaced on each change),
+ * and when they're changed all cached vars are checked to be still interned, stale ones are dropped.
+ * So such changes are detected on the next access thru the cache.
+ *
+ * <p>Total number of cached vars is bounded by {@link #MAX_SIZE},
+ * when the bound is exceeded - all caches are cleared.
+ *
+ * <p>Each time the cache is invalidated (or the namespace is reloaded) its {@link #version()} is incremented,
+ * so objects holding vars resolved thru the cache may cheaply check whether they should resolve them again.
+ * Registered {@link LiveRoot}s are marked stale instead, so they don't read the version on each access.
+ *
+ * @see #of(String)
+ * @see UberClj#var(String, String)
+ */
+final class VarCache {
+
+	/**
+	 * Maximum total number of cached vars,
+	 * may be configured with the `com.vsubhuman.clj.varCacheSize` system property
+	 */
+	static final int MAX_SIZE = Integer.getInteger("com.vsubhuman.clj.varCacheSize", 4096);
+
+	private static final ConcurrentMap<String, VarCache> CACHES = new ConcurrentHashMap<>();
+
+	private static final AtomicInteger SIZE = new AtomicInteger();
+
+	final String ns;
+
+	private final Symbol symbol;
+
+	private final ConcurrentMap<String, Var> vars = new ConcurrentHashMap<>();
+
+	private final AtomicInteger version = new AtomicInteger();
+
+	private final Set<LiveRoot> roots = ConcurrentHashMap.newKeySet();
+
+	/*
+	 * Namespace and its mappings all the cached vars were validated against
+	 */
+	private volatile Namespace namespace;
+	private volatile IPersistentMap mappings;
+
+	private VarCache(String ns) {
+		this.ns = ns;
+		this.symbol = Symbol.intern(ns);
+	}
+
+	/**
+	 * Acquire var cache of the specified namespace
+	 */
+	static VarCache of(String ns) {
+		VarCache cache = CACHES.get(ns);
+		if (cache != null)
+			return cache;
+		VarCache created = new VarCache(ns);
+		cache = CACHES.putIfAbsent(ns, created);
+		return cache != null ? cache : created;
+	}
+
+	/**
+	 * Acquire var at the specified name in the specified namespace
+	 */
+	static Var get(String ns, String name) {
+		return of(ns).get(name);
+	}
+
+	/**
+	 * Clear vars cached for all namespaces
+	 */
+	static void invalidateAll() {
+		for (VarCache cache : CACHES.values())
+			cache.clear();
+	}
+
+	/**
+	 * <p>Acquire var at the specified name.
+	 *
+	 * <p><b>Note:</b> var may be unbound!
+	 */
+	Var get(String name) {
+		Namespace namespace = this.namespace;
+		if (namespace == null || namespace.getMappings() != mappings || Namespace.find(symbol) != namespace)
+			validate();
+		Var var = vars.get(name);
+		return var != null ? var : resolve(name);
+	}
+
+	/*
+	 * Drop cached vars not interned in the namespace anymore (unmapped, or the namespace is removed),
+	 * mappings are read before the check, so changes made during the check are validated on the next access
+	 */
+	private synchronized void validate() {
+		Namespace current = Namespace.find(symbol);
+		IPersistentMap currentMappings = current != null ? current.getMappings() : null;
+		boolean stale = false;
+		for (Map.Entry<String, Var> e : vars.entrySet()) {
+			Var var = e.getValue();
+			if (current == null || current.findInternedVar(var.sym) != var) {
+				if (vars.remove(e.getKey(), var))
+					SIZE.decrementAndGet();
+				stale = true;
+			}
+		}
+		namespace = current;
+		mappings = currentMappings;
+		if (stale)
+			increment();
+	}
+
+	private Var resolve(String name) {
+		Var var = RT.var(ns, name);
+		if (vars.putIfAbsent(name, var) == null && SIZE.incrementAndGet() > MAX_SIZE)
+			invalidateAll();
+		return var;
+	}
+
+	/**
+	 * Version of the cache, incremented each time cached vars may become invalid
+	 * (vars are unmapped, or the namespace is reloaded)
+	 */
+	int version() {
+		return version.get();
+	}
+
+	/**
+	 * Remove var at the specified name from the cache
+	 */
+	void invalidate(String name) {
+		if (vars.remove(name) != null)
+			SIZE.decrementAndGet();
+		increment();
+	}
+
+	/**
+	 * Remove all cached vars of this namespace
+	 */
+	void invalidate() {
+		clear();
+		increment();
+	}
+
+	/**
+	 * Register the root to be marked stale each time the version is incremented
+	 */
+	void register(LiveRoot root) {
+		roots.add(root);
+	}
+
+	/**
+	 * Stop marking the root stale
+	 */
+	void unregister(LiveRoot root) {
+		roots.remove(root);
+	}
+
+	/*
+	 * Roots are marked after the version is incremented,
+	 * so a root revalidated meanwhile is just revalidated again
+	 */
+	private void increment() {
+		version.incrementAndGet();
+		for (LiveRoot root : roots)
+			root.invalidate();
+	}
+
+	/*
+	 * Cached vars stay valid, so version is not changed
+	 */
+	private void clear() {
+		for (String name : vars.keySet())
+			if (vars.remove(name) != null)
+				SIZE.decrementAndGet();
+	}
+}
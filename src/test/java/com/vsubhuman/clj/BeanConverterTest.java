@@ -0,0 +1,202 @@
+package com.vsubhuman.clj;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import org.hamcrest.Matchers;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import clojure.lang.IPersistentMap;
+import clojure.lang.PersistentArrayMap;
+import clojure.lang.PersistentHashMap;
+
+public class BeanConverterTest {
+
+	public static class Address {
+
+		public String getCity() {
+			return "Paris";
+		}
+	}
+
+	public static class Person {
+
+		public String getFirstName() {
+			return "Jean";
+		}
+
+		public int getAge() {
+			return 42;
+		}
+
+		public boolean isActive() {
+			return true;
+		}
+
+		public Address getAddress() {
+			return new Address();
+		}
+
+		public List<Address> getPrevious() {
+			return Arrays.asList(new Address(), new Address());
+		}
+
+		public String getURL() {
+			return "url";
+		}
+
+		public static String getStatic() {
+			return "static";
+		}
+
+		public String getWithArg(String arg) {
+			return arg;
+		}
+	}
+
+	public static class Event {
+
+		public Timestamp getCreated() {
+			return new Timestamp(1000);
+		}
+	}
+
+	public static class Wide {
+
+		public int getA() { return 1; }
+		public int getB() { return 2; }
+		public int getC() { return 3; }
+		public int getD() { return 4; }
+		public int getE() { return 5; }
+		public int getF() { return 6; }
+		public int getG() { return 7; }
+		public int getH() { return 8; }
+		public int getI() { return 9; }
+	}
+
+	private static Class<?> point;
+	private static Class<?> segment;
+
+	/*
+	 * Records cannot be declared in sources built for java 8, so they're compiled when tests run on java 16+
+	 */
+	@BeforeClass
+	public static void compileRecords() throws IOException, ClassNotFoundException {
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		if (compiler == null || UberClj.class.getClassLoader() == null)
+			return;
+		Path dir = Files.createTempDirectory("records");
+		Path pointSource = dir.resolve("Point.java");
+		Path segmentSource = dir.resolve("Segment.java");
+		Files.write(pointSource, Collections.singleton(
+				"public record Point(int x, double y, String pointName) {}"), StandardCharsets.US_ASCII);
+		Files.write(segmentSource, Collections.singleton(
+				"public record Segment(Point from, Point to, long id) {}"), StandardCharsets.US_ASCII);
+		int status = compiler.run(null, null, null, "-d", dir.toString(),
+				pointSource.toString(), segmentSource.toString());
+		if (status != 0)
+			return; // Running on java 15 or older
+		@SuppressWarnings("resource")
+		URLClassLoader loader = new URLClassLoader(new URL[] { dir.toUri().toURL() },
+				BeanConverterTest.class.getClassLoader());
+		point = loader.loadClass("Point");
+		segment = loader.loadClass("Segment");
+		for (File f : dir.toFile().listFiles())
+			f.deleteOnExit();
+		dir.toFile().deleteOnExit();
+	}
+
+	@Test
+	public void bean_is_converted_by_kebab_cased_getters() {
+		IPersistentMap map = UberClj.fromBean(new Person());
+		Assert.assertThat(map.count(), Matchers.is(6));
+		Assert.assertThat(map.valAt(UberClj.key("first-name")), Matchers.is("Jean"));
+		Assert.assertThat(map.valAt(UberClj.key("age")), Matchers.is(42));
+		Assert.assertThat(map.valAt(UberClj.key("active")), Matchers.is(true));
+		Assert.assertThat(map.valAt(UberClj.key("url")), Matchers.is("url"));
+	}
+
+	@Test
+	public void nested_beans_are_converted_recursively() {
+		IPersistentMap map = UberClj.fromBean(new Person());
+		IPersistentMap city = UberClj.map(UberClj.key("city"), "Paris");
+		Assert.assertThat(map.valAt(UberClj.key("address")), Matchers.equalTo(city));
+		Assert.assertThat(map.valAt(UberClj.key("previous")), Matchers.equalTo(UberClj.vector(city, city)));
+	}
+
+	@Test
+	public void nested_jdk_objects_are_not_converted() {
+		// Timestamp is loaded by the platform class loader on java 9+, not by the bootstrap one
+		IPersistentMap map = UberClj.fromBean(new Event());
+		Assert.assertThat(map.valAt(UberClj.key("created")), Matchers.equalTo(new Timestamp(1000)));
+	}
+
+	@Test
+	public void small_beans_are_converted_into_array_maps() {
+		Assert.assertThat(UberClj.fromBean(new Person()), Matchers.instanceOf(PersistentArrayMap.class));
+		IPersistentMap wide = UberClj.fromBean(new Wide());
+		Assert.assertThat(wide, Matchers.instanceOf(PersistentHashMap.class));
+		Assert.assertThat(wide.count(), Matchers.is(9));
+		Assert.assertThat(wide.valAt(UberClj.key("i")), Matchers.is(9));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void bean_is_not_converted_as_record() {
+		UberClj.fromRecord(new Person());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void map_is_not_converted_into_non_record() {
+		UberClj.toRecord(Person.class, UberClj.map());
+	}
+
+	@Test
+	public void record_is_converted_into_map_and_back() throws ReflectiveOperationException {
+		Assume.assumeNotNull(point);
+		Object from = point.getConstructor(int.class, double.class, String.class).newInstance(1, 2.5, "a");
+		Object to = point.getConstructor(int.class, double.class, String.class).newInstance(3, 4.5, "b");
+		Object record = segment.getConstructor(point, point, long.class).newInstance(from, to, 7L);
+
+		IPersistentMap map = UberClj.fromRecord(record);
+		Assert.assertThat(map.valAt(UberClj.key("id")), Matchers.is(7L));
+		IPersistentMap fromMap = (IPersistentMap) map.valAt(UberClj.key("from"));
+		Assert.assertThat(fromMap.valAt(UberClj.key("point-name")), Matchers.is("a"));
+		Assert.assertThat(fromMap.valAt(UberClj.key("x")), Matchers.is(1));
+		Assert.assertThat(UberClj.fromBean(record), Matchers.equalTo(map));
+
+		Assert.assertThat(UberClj.toRecord(segment, (Map<?, ?>) map), Matchers.equalTo(record));
+	}
+
+	@Test
+	public void clojure_numbers_are_cast_to_record_components() throws ReflectiveOperationException {
+		Assume.assumeNotNull(point);
+		IPersistentMap map = UberClj.map(UberClj.key("x"), 1L, UberClj.key("y"), 2L);
+		Object expected = point.getConstructor(int.class, double.class, String.class).newInstance(1, 2.0, null);
+		Assert.assertThat(UberClj.toRecord(point, (Map<?, ?>) map), Matchers.equalTo(expected));
+
+		Object empty = point.getConstructor(int.class, double.class, String.class).newInstance(0, 0.0, null);
+		Assert.assertThat(UberClj.toRecord(point, UberClj.map()), Matchers.equalTo(empty));
+	}
+
+	@Test(expected = ClassCastException.class)
+	public void mismatching_component_throws_exception() {
+		Assume.assumeNotNull(point);
+		UberClj.toRecord(point, UberClj.map(UberClj.key("point-name"), 1L));
+	}
+}
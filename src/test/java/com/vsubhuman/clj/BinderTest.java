@@ -0,0 +1,210 @@
+package com.vsubhuman.clj;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+import org.hamcrest.Matchers;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.sun.management.ThreadMXBean;
+
+import clojure.lang.AFn;
+import clojure.lang.Keyword;
+import clojure.lang.Namespace;
+import clojure.lang.RT;
+import clojure.lang.Symbol;
+import clojure.lang.Var;
+
+public class BinderTest {
+
+	public interface TestService {
+
+		Object testFnFirst();
+
+		Object testFnFirst(Object a, Object b);
+
+		long testFnIncLong(long x);
+
+		double testFnMulDouble(double a, double b);
+
+		int testFnPow2(int x);
+
+		@CljFn(TestNames.FN_COUNT)
+		long count(Object coll);
+
+		Keyword testFnDynamic();
+
+		default String testFnMissing() {
+			return "default";
+		}
+	}
+
+	public interface MissingService {
+
+		void testFnMissing();
+	}
+
+	public interface WrongArityService {
+
+		Object testFnPow2(Object a, Object b);
+	}
+
+	public interface RedefinedService {
+
+		@CljFn("test-bind-redefined")
+		long redefined(long x);
+	}
+
+	public interface VariadicService {
+
+		@CljFn("test-bind-variadic")
+		Object list(Object a0, Object a1, Object a2, Object a3, Object a4, Object a5, Object a6, Object a7, Object a8, Object a9, Object a10, Object a11, Object a12, Object a13, Object a14, Object a15, Object a16, Object a17, Object a18, Object a19, Object a20);
+	}
+
+	public interface UnmappedService {
+
+		@CljFn("test-bind-unmapped")
+		long unmapped(long x);
+	}
+
+	public interface DefaultService {
+
+		default Object first() {
+			return "default";
+		}
+	}
+
+	interface HiddenService {
+	}
+
+	private static final TestService service = UberClj.bind(TestService.class, TestNames.TEST_NS);
+
+	@Test
+	public void kebab_case_names_are_derived_from_method_names() {
+		Assert.assertThat(Binder.kebab("getUserName"), Matchers.is("get-user-name"));
+		Assert.assertThat(Binder.kebab("parseURLString"), Matchers.is("parse-url-string"));
+		Assert.assertThat(Binder.kebab("toURL"), Matchers.is("to-url"));
+		Assert.assertThat(Binder.kebab("run"), Matchers.is("run"));
+	}
+
+	@Test
+	public void bound_methods_call_functions() {
+		Assert.assertThat(service.testFnFirst(), Matchers.nullValue());
+		Assert.assertThat(service.testFnFirst("a", "b"), Matchers.is("a"));
+		Assert.assertThat(service.testFnIncLong(41), Matchers.is(42L));
+		Assert.assertThat(service.testFnMulDouble(1.5, 2), Matchers.is(3.0));
+		Assert.assertThat(service.testFnPow2(7), Matchers.is(49));
+		Assert.assertThat(service.count(Arrays.asList(1, 2, 3)), Matchers.is(3L));
+		Assert.assertThat(service.testFnDynamic(), Matchers.is(Keyword.intern("root")));
+	}
+
+	@Test
+	public void default_methods_are_kept_for_missing_functions() {
+		Assert.assertThat(service.testFnMissing(), Matchers.is("default"));
+	}
+
+	@Test
+	public void bound_methods_see_dynamic_bindings() {
+		Var.pushThreadBindings(RT.map(UberClj.var(TestNames.TEST_NS, TestNames.DYNAMIC), Keyword.intern("bound")));
+		try {
+			Assert.assertThat(service.testFnDynamic(), Matchers.is(Keyword.intern("bound")));
+		} finally {
+			Var.popThreadBindings();
+		}
+	}
+
+	@Test(expected = NoSuchElementException.class)
+	public void missing_functions_fail_at_bind() {
+		UberClj.bind(MissingService.class, TestNames.TEST_NS);
+	}
+
+	@Test
+	public void binding_never_interns_vars() {
+		Namespace ns = Namespace.find(Symbol.intern(TestNames.TEST_NS));
+		Object first = ns.getMapping(Symbol.intern("first"));
+		DefaultService defaults = UberClj.bind(DefaultService.class, TestNames.TEST_NS);
+		Assert.assertThat(defaults.first(), Matchers.is("default"));
+		Assert.assertThat(ns.getMapping(Symbol.intern("first")), Matchers.sameInstance(first));
+
+		try {
+			UberClj.bind(MissingService.class, TestNames.TEST_NS);
+			Assert.fail();
+		} catch (NoSuchElementException expected) {
+		}
+		Assert.assertThat(ns.findInternedVar(Symbol.intern("test-fn-missing")), Matchers.nullValue());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void wrong_arity_fails_at_bind() {
+		UberClj.bind(WrongArityService.class, TestNames.TEST_NS);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void non_public_interface_fails_at_bind() {
+		UberClj.bind(HiddenService.class, TestNames.TEST_NS);
+	}
+
+	@Test
+	public void redefined_functions_are_visible() {
+		Var var = UberClj.var(TestNames.TEST_NS, "test-bind-redefined");
+		var.bindRoot(UberClj.fn(TestNames.TEST_NS, TestNames.FN_INC_LONG));
+		RedefinedService redefined = UberClj.bind(RedefinedService.class, TestNames.TEST_NS);
+		Assert.assertThat(redefined.redefined(1), Matchers.is(2L));
+
+		// Redefined function doesn't implement primitive interface anymore
+		var.bindRoot(new AFn() {
+			@Override
+			public Object invoke(Object x) {
+				return (Long) x * 10;
+			}
+		});
+		Assert.assertThat(redefined.redefined(1), Matchers.is(10L));
+	}
+
+	@Test
+	public void binding_adds_no_watches() {
+		Var var = UberClj.var(TestNames.TEST_NS, TestNames.FN_INC_LONG);
+		int watches = var.getWatches().count();
+		for (int i = 0; i < 10; i++)
+			UberClj.bind(TestService.class, TestNames.TEST_NS);
+		Assert.assertThat(var.getWatches().count(), Matchers.is(watches));
+	}
+
+	@Test
+	public void methods_with_more_than_20_arguments_are_applied() {
+		UberClj.var(TestNames.TEST_NS, "test-bind-variadic").bindRoot(UberClj.fn(CljCore.NAME, "list"));
+		VariadicService variadic = UberClj.bind(VariadicService.class, TestNames.TEST_NS);
+		Assert.assertThat(RT.count(variadic.list(0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 20)), Matchers.is(21));
+	}
+
+	@Test
+	public void primitive_methods_do_not_allocate() {
+		ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long thread = Thread.currentThread().getId();
+		int n = 10_000;
+		long sum = 0;
+		for (int i = 0; i < n; i++)
+			sum += service.testFnIncLong(i + 1000);
+
+		long before = threads.getThreadAllocatedBytes(thread);
+		for (int i = 0; i < n; i++)
+			sum += service.testFnIncLong(i + 1000);
+		long allocated = threads.getThreadAllocatedBytes(thread) - before;
+
+		Assert.assertThat(sum, Matchers.greaterThan(0L));
+		Assert.assertThat(allocated, Matchers.lessThan((long) n));
+	}
+
+	@Test
+	public void bound_methods_find_new_var_after_unmap() {
+		UberClj.var(TestNames.TEST_NS, "test-bind-unmapped").bindRoot(UberClj.fn(TestNames.TEST_NS, TestNames.FN_INC_LONG));
+		UnmappedService unmapped = UberClj.bind(UnmappedService.class, TestNames.TEST_NS);
+		Assert.assertThat(unmapped.unmapped(1), Matchers.is(2L));
+
+		UberClj.unmap(TestNames.TEST_NS, "test-bind-unmapped");
+		UberClj.var(TestNames.TEST_NS, "test-bind-unmapped").bindRoot(UberClj.fn(TestNames.TEST_NS, TestNames.FN_POW2));
+		Assert.assertThat(unmapped.unmapped(3), Matchers.is(9L));
+	}
+}
@@ -0,0 +1,76 @@
+package com.vsubhuman.clj;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.hamcrest.Matchers;
+import org.junit.Assert;
+import org.junit.Test;
+
+import clojure.lang.Keyword;
+import clojure.lang.RT;
+import clojure.lang.Var;
+
+public class CljAsyncTest {
+
+	private static final CljNamespace namespace = UberClj.require(TestNames.TEST_NS);
+
+	@Test
+	public void call_async_returns_result() throws Exception {
+		CompletableFuture<Long> pow = namespace.callAsync(TestNames.FN_POW2, 12L);
+		CompletableFuture<Long> sum = UberClj.callAsync(CljCore.NAME, "+", 1L, 2L, 3L);
+		Assert.assertThat(pow.get(), Matchers.is(144L));
+		Assert.assertThat(sum.get(), Matchers.is(6L));
+	}
+
+	@Test
+	public void call_async_conveys_dynamic_bindings() throws Exception {
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Var dynamic = namespace.var(TestNames.DYNAMIC);
+			Var.pushThreadBindings(RT.map(dynamic, Keyword.intern("bound")));
+			CompletableFuture<Object> bound;
+			try {
+				bound = namespace.callAsync(executor, TestNames.FN_DYNAMIC);
+			} finally {
+				Var.popThreadBindings();
+			}
+			Assert.assertThat(bound.get(), Matchers.is(Keyword.intern("bound")));
+
+			// Bindings are not left in the executing thread
+			CompletableFuture<Object> root = namespace.callAsync(executor, TestNames.FN_DYNAMIC);
+			Assert.assertThat(root.get(), Matchers.is(Keyword.intern("root")));
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void call_async_completes_exceptionally_on_failure() throws Exception {
+		CompletableFuture<Object> failed = namespace.callAsync(TestNames.FN_POW2, "qwe");
+		try {
+			failed.get();
+			Assert.fail("Call should fail");
+		} catch (ExecutionException e) {
+			Assert.assertThat(e.getCause(), Matchers.instanceOf(ClassCastException.class));
+		}
+	}
+
+	@Test
+	public void default_executor_may_be_replaced() throws Exception {
+		Executor previous = CljAsync.defaultExecutor();
+		Assert.assertThat(previous, Matchers.notNullValue());
+		ExecutorService executor = Executors.newSingleThreadExecutor(r -> new Thread(r, "replaced"));
+		try {
+			CljAsync.setDefaultExecutor(executor);
+			CompletableFuture<String> name = CljAsync.supply(() -> Thread.currentThread().getName(), CljAsync.defaultExecutor());
+			Assert.assertThat(name.get(), Matchers.is("replaced"));
+		} finally {
+			CljAsync.setDefaultExecutor(previous);
+			executor.shutdown();
+		}
+	}
+}
@@ -0,0 +1,117 @@
+package com.vsubhuman.clj;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.UnaryOperator;
+
+import org.hamcrest.Matchers;
+import org.junit.Assert;
+import org.junit.Test;
+
+import clojure.lang.Atom;
+
+public class CljAtomTest {
+
+	private static final CljNamespace namespace = UberClj.require(TestNames.TEST_NS);
+
+	@Test
+	public void swap_updates_namespace_atom() {
+		CljAtom<Long> atom = namespace.atom(TestNames.ATOM_COUNTER);
+		atom.reset(0L);
+		Assert.assertThat(atom.swap(x -> x + 1), Matchers.is(1L));
+		Assert.assertThat(atom.swap(x -> x + 2), Matchers.is(3L));
+		Assert.assertThat(namespace.deref(TestNames.ATOM_COUNTER), Matchers.is(3L));
+		Assert.assertThat(atom.get(), Matchers.is(3L));
+		Assert.assertThat(atom.swapCount(), Matchers.is(2L));
+		Assert.assertThat(atom.retryCount(), Matchers.is(0L));
+	}
+
+	@Test
+	public void swap_all_applies_batch_by_single_update() {
+		CljAtom<Long> atom = UberClj.atom(TestNames.TEST_NS, TestNames.ATOM_COUNTER);
+		atom.reset(1L);
+		UnaryOperator<Long> inc = x -> x + 1;
+		UnaryOperator<Long> twice = x -> x * 2;
+		Assert.assertThat(atom.swapAll(Arrays.asList(inc, twice, inc)), Matchers.is(5L));
+		Assert.assertThat(atom.swapCount(), Matchers.is(1L));
+	}
+
+	@Test
+	public void compare_and_set_compares_identity() {
+		CljAtom<Object> atom = namespace.atom(TestNames.ATOM_COUNTER);
+		Object current = "current";
+		atom.reset(current);
+		Assert.assertThat(atom.compareAndSet(new String("current"), 1L), Matchers.is(false));
+		Assert.assertThat(atom.compareAndSet(current, 1L), Matchers.is(true));
+		Assert.assertThat(atom.get(), Matchers.is(1L));
+	}
+
+	@Test
+	public void concurrent_update_is_retried_and_counted() {
+		CljAtom<Long> atom = namespace.atom(TestNames.ATOM_COUNTER);
+		atom.reset(0L);
+		AtomicBoolean interfered = new AtomicBoolean();
+		long result = atom.swap(x -> {
+			if (interfered.compareAndSet(false, true))
+				atom.reset(10L);
+			return x + 1;
+		});
+		Assert.assertThat(result, Matchers.is(11L));
+		Assert.assertThat(atom.retryCount(), Matchers.is(1L));
+	}
+
+	@Test
+	public void updates_from_many_threads_are_not_lost() throws Exception {
+		CljAtom<Long> atom = namespace.atom(TestNames.ATOM_COUNTER);
+		atom.reset(0L);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			Future<?>[] futures = new Future<?>[4];
+			for (int t = 0; t < futures.length; t++)
+				futures[t] = executor.submit(() -> {
+					for (int i = 0; i < 10000; i++)
+						atom.swap(x -> x + 1);
+				});
+			for (Future<?> f : futures)
+				f.get();
+		} finally {
+			executor.shutdown();
+		}
+		Assert.assertThat(atom.get(), Matchers.is(40000L));
+		Assert.assertThat(atom.swapCount(), Matchers.is(40000L));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void validator_is_applied() {
+		CljAtom<Object> atom = namespace.atom(TestNames.ATOM_VALIDATED);
+		atom.swap(x -> "not a number");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void non_atom_var_throws_exception() {
+		namespace.atom(TestNames.STR_QWE);
+	}
+
+	@Test
+	public void handle_wraps_same_atom() {
+		CljAtom<Long> atom = namespace.atom(TestNames.ATOM_COUNTER);
+		Assert.assertThat(atom.atom(), Matchers.sameInstance((Atom) namespace.value(TestNames.ATOM_COUNTER)));
+	}
+
+	@Test
+	public void handle_updates_new_atom_after_reload() {
+		CljNamespace state = UberClj.require("com.vsubhuman.clj.reload.state");
+		CljAtom<Long> atom = state.atom("counter");
+		atom.reset(5L);
+		Atom before = atom.atom();
+
+		state.reload();
+		Assert.assertThat(atom.atom(), Matchers.not(Matchers.sameInstance(before)));
+		Assert.assertThat(atom.get(), Matchers.is(0L));
+		Assert.assertThat(atom.swap(x -> x + 1), Matchers.is(1L));
+		Assert.assertThat(state.deref("counter"), Matchers.is(1L));
+	}
+}
@@ -0,0 +1,79 @@
+package com.vsubhuman.clj;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.hamcrest.Matchers;
+import org.junit.Assert;
+import org.junit.Test;
+
+import clojure.lang.Keyword;
+
+public class CljBindingsTest {
+
+	private static final CljNamespace namespace = UberClj.require(TestNames.TEST_NS);
+
+	private static final Keyword ROOT = Keyword.intern("root");
+	private static final Keyword ROOT_OTHER = Keyword.intern("root-other");
+
+	@Test
+	public void with_bindings_binds_vars_by_names() {
+		Map<String, Object> bindings = new HashMap<>();
+		bindings.put(TestNames.DYNAMIC, 1L);
+		bindings.put(TestNames.DYNAMIC_OTHER, 2L);
+		Object bound = namespace.withBindings(bindings, () -> namespace.call(TestNames.FN_DYNAMICS));
+		Assert.assertThat(bound, Matchers.equalTo(UberClj.vector(1L, 2L)));
+		Assert.assertThat(namespace.call(TestNames.FN_DYNAMICS), Matchers.equalTo(UberClj.vector(ROOT, ROOT_OTHER)));
+	}
+
+	@Test
+	public void bindings_are_nested_and_removed_on_exception() {
+		Map<String, Object> outer = Collections.singletonMap(TestNames.DYNAMIC, 1L);
+		Object bound = namespace.withBindings(outer, () -> {
+			try {
+				namespace.withBindings(Collections.singletonMap(TestNames.DYNAMIC_OTHER, 2L), () -> {
+					Assert.assertThat(namespace.call(TestNames.FN_DYNAMICS), Matchers.equalTo(UberClj.vector(1L, 2L)));
+					throw new IllegalStateException();
+				});
+			} catch (IllegalStateException e) {
+				// Inner bindings are removed
+			}
+			return namespace.call(TestNames.FN_DYNAMICS);
+		});
+		Assert.assertThat(bound, Matchers.equalTo(UberClj.vector(1L, ROOT_OTHER)));
+	}
+
+	@Test
+	public void template_binds_values_in_order_of_names() {
+		CljBindings template = namespace.bindings(TestNames.DYNAMIC_OTHER, TestNames.DYNAMIC);
+		for (long i = 0; i < 10; i++) {
+			long value = i;
+			Object bound = template.call(() -> namespace.call(TestNames.FN_DYNAMICS), value, -value);
+			Assert.assertThat(bound, Matchers.equalTo(UberClj.vector(-value, value)));
+		}
+		Assert.assertThat(namespace.call(TestNames.FN_DYNAMICS), Matchers.equalTo(UberClj.vector(ROOT, ROOT_OTHER)));
+	}
+
+	@Test
+	public void template_bindings_are_conveyed_to_async_calls() {
+		CljBindings template = namespace.bindings(TestNames.DYNAMIC);
+		Object bound = template.call(() -> namespace.callAsync(TestNames.FN_DYNAMIC).join(), 1L);
+		Assert.assertThat(bound, Matchers.is(1L));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void template_throws_exception_on_wrong_number_of_values() {
+		namespace.bindings(TestNames.DYNAMIC).call(() -> null, 1L, 2L);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void template_of_non_dynamic_var_throws_exception() {
+		namespace.bindings(TestNames.STR_QWE);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void binding_non_dynamic_var_throws_exception() {
+		namespace.withBindings(Collections.singletonMap(TestNames.STR_QWE, 1L), () -> null);
+	}
+}
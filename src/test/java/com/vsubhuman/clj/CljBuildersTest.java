@@ -0,0 +1,152 @@
+package com.vsubhuman.clj;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import org.hamcrest.Matchers;
+import org.junit.Assert;
+import org.junit.Test;
+
+import clojure.lang.IFn;
+import clojure.lang.IPersistentMap;
+import clojure.lang.IPersistentStack;
+import clojure.lang.IPersistentVector;
+import clojure.lang.Keyword;
+import clojure.lang.PersistentArrayMap;
+import clojure.lang.PersistentHashMap;
+import clojure.lang.PersistentHashSet;
+import clojure.lang.PersistentVector;
+
+public class CljBuildersTest {
+
+	@Test
+	public void vector_builder_adds_elements_in_order() {
+		CljVectorBuilder builder = UberClj.vectorBuilder().add(1).addAll(2, 3).addAll(Arrays.asList(4, 5));
+		for (int i = 6; i <= 100; i++)
+			builder.add(i);
+		PersistentVector vector = builder.build();
+		Assert.assertThat(vector.count(), Matchers.is(100));
+		Assert.assertThat(vector.nth(0), Matchers.is(1));
+		Assert.assertThat(vector.nth(99), Matchers.is(100));
+	}
+
+	@Test
+	public void presized_vector_builder_accepts_any_number_of_elements() {
+		Assert.assertThat(UberClj.vectorBuilder(3).addAll(1, 2, 3).build(), Matchers.is(Arrays.asList(1, 2, 3)));
+		Assert.assertThat(UberClj.vectorBuilder(3).add(1).build(), Matchers.is(Arrays.asList(1)));
+		Assert.assertThat(UberClj.vectorBuilder(3).build(), Matchers.sameInstance(PersistentVector.EMPTY));
+		PersistentVector spilled = UberClj.vectorBuilder(2).addAll(1, 2, 3, 4).build();
+		Assert.assertThat(spilled, Matchers.is(Arrays.asList(1, 2, 3, 4)));
+	}
+
+	@Test(expected = IllegalAccessError.class)
+	public void presized_vector_builder_cannot_be_used_after_build() {
+		CljVectorBuilder builder = UberClj.vectorBuilder(2).add(1);
+		builder.build();
+		builder.add(2);
+	}
+
+	@Test(expected = IllegalAccessError.class)
+	public void vector_builder_cannot_be_used_after_build() {
+		CljVectorBuilder builder = UberClj.vectorBuilder().add(1);
+		builder.build();
+		builder.add(2);
+	}
+
+	@Test
+	public void set_builder_removes_duplicates() {
+		PersistentHashSet set = UberClj.setBuilder().add(1).addAll(1, 2, 3).addAll(Arrays.asList(3, 4)).build();
+		Assert.assertThat(set, Matchers.is(new HashSet<>(Arrays.asList(1, 2, 3, 4))));
+	}
+
+	@Test
+	public void map_builder_creates_array_map_for_small_size() {
+		IPersistentMap map = UberClj.mapBuilder(2).put("a", 1).putAll("b", 2).build();
+		Assert.assertThat(map, Matchers.instanceOf(PersistentArrayMap.class));
+		Assert.assertThat(map.valAt("a"), Matchers.is(1));
+		Assert.assertThat(map.valAt("b"), Matchers.is(2));
+	}
+
+	@Test
+	public void map_builder_creates_hash_map_when_grown_or_for_large_size() {
+		CljMapBuilder builder = UberClj.mapBuilder();
+		Map<Integer, Integer> expected = new HashMap<>();
+		for (int i = 0; i < 100; i++) {
+			builder.put(i, i * 2);
+			expected.put(i, i * 2);
+		}
+		IPersistentMap grown = builder.build();
+		Assert.assertThat(grown, Matchers.instanceOf(PersistentHashMap.class));
+		Assert.assertThat(grown, Matchers.is(expected));
+
+		IPersistentMap large = UberClj.mapBuilder(100).putAll(expected).build();
+		Assert.assertThat(large, Matchers.instanceOf(PersistentHashMap.class));
+		Assert.assertThat(large, Matchers.is(expected));
+	}
+
+	@Test
+	public void map_builder_replaces_values() {
+		Map<String, Integer> entries = new LinkedHashMap<>();
+		entries.put("a", 1);
+		entries.put("b", 2);
+		IPersistentMap map = UberClj.mapBuilder().putAll(entries).putAll(Arrays.asList("a", 3)).build();
+		Assert.assertThat(map.count(), Matchers.is(2));
+		Assert.assertThat(map.valAt("a"), Matchers.is(3));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void map_builder_throws_exception_on_uneven_elements() {
+		UberClj.mapBuilder().putAll(Arrays.asList(1, 2, 3));
+	}
+
+	@Test
+	public void long_vector_is_equal_to_vector_of_same_elements() {
+		IFn vectorOf = UberClj.fn(CljCore.NAME, "vector-of");
+		IFn into = UberClj.fn(CljCore.NAME, "into");
+		for (int size : new int[] { 0, 1, 31, 32, 33, 64, 1056, 1057, 40000 }) {
+			long[] elements = new long[size];
+			for (int i = 0; i < size; i++)
+				elements[i] = i * 3L;
+			IPersistentVector vector = UberClj.longVector(elements);
+			Object expected = into.invoke(vectorOf.invoke(Keyword.intern("long")), UberClj.vector(LongStream.of(elements).boxed().toArray()));
+			Assert.assertThat(vector.getClass(), Matchers.equalTo(expected.getClass()));
+			Assert.assertThat(vector, Matchers.equalTo(expected));
+			Assert.assertThat(vector.count(), Matchers.is(size));
+			for (int i = 0; i < size; i++)
+				Assert.assertThat(vector.nth(i), Matchers.is(i * 3L));
+			// Vector stays usable by clojure after bulk construction
+			IPersistentVector grown = vector.cons(-1L);
+			Assert.assertThat(grown.nth(size), Matchers.is(-1L));
+			Assert.assertThat(((IPersistentStack) grown).pop(), Matchers.equalTo(vector));
+			Assert.assertArrayEquals(elements, UberClj.toLongArray(vector));
+		}
+	}
+
+	@Test
+	public void int_and_double_vectors_copy_back_to_arrays() {
+		int[] ints = IntStream.range(0, 100).toArray();
+		IPersistentVector intVector = UberClj.intVector(ints);
+		Assert.assertThat(intVector.nth(99), Matchers.is(99));
+		Assert.assertArrayEquals(ints, UberClj.toIntArray(intVector));
+
+		double[] doubles = DoubleStream.iterate(0.5, d -> d + 1).limit(100).toArray();
+		IPersistentVector doubleVector = UberClj.doubleVector(doubles);
+		Assert.assertThat(doubleVector.nth(99), Matchers.is(99.5));
+		Assert.assertArrayEquals(doubles, UberClj.toDoubleArray(doubleVector), 0);
+	}
+
+	@Test
+	public void primitive_arrays_are_copied_from_any_collection() {
+		Assert.assertArrayEquals(new long[] { 1, 2, 3 }, UberClj.toLongArray(UberClj.vector(1, 2L, 3)));
+		Assert.assertArrayEquals(new long[] { 1, 2, 3 }, UberClj.toLongArray(UberClj.intVector(1, 2, 3)));
+		Assert.assertArrayEquals(new int[] { 1, 2 }, UberClj.toIntArray(UberClj.list(1L, 2L)));
+		Assert.assertArrayEquals(new double[] { 1, 2 }, UberClj.toDoubleArray(UberClj.longVector(1, 2)), 0);
+		Assert.assertArrayEquals(new long[0], UberClj.toLongArray(null));
+	}
+}
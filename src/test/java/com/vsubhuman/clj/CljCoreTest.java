@@ -48,6 +48,18 @@ public class CljCoreTest {
 		UberClj.require("qwe.rty.qaz");
 	}
 
+	@Test
+	public void test_failed_require_is_not_remembered() {
+		for (int i = 0; i < 2; i++) {
+			try {
+				CljCore.require("qwe.rty.qaz");
+				Assert.fail("Require of illegal namespace should fail");
+			} catch (Exception e) {
+				Assert.assertThat(e, Matchers.instanceOf(FileNotFoundException.class));
+			}
+		}
+	}
+
 	@Test
 	public void test_deref_on_var_returns_bound_value() {
 		// This will load the `var`, NOT a var value
@@ -83,4 +95,12 @@ public class CljCoreTest {
 		IFn sum = CljCore.NAMESPACE.fn("+");
 		Assert.assertThat(sum.invoke(10, 20, 30), Matchers.is(60L));
 	}
+
+	@Test
+	@SuppressWarnings("deprecation")
+	public void test_deprecated_constants_are_same_as_accessors() {
+		Assert.assertThat(CljCore.REQUIRE_FN, Matchers.sameInstance(CljCore.requireFn()));
+		Assert.assertThat(CljCore.NAMESPACE, Matchers.sameInstance(CljCore.namespace()));
+		Assert.assertThat(CljCore.DEREF_FN, Matchers.sameInstance(CljCore.derefFn()));
+	}
 }
@@ -0,0 +1,101 @@
+package com.vsubhuman.clj;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.hamcrest.Matchers;
+import org.junit.Assert;
+import org.junit.Test;
+
+import clojure.lang.EdnReader;
+import clojure.lang.IPersistentMap;
+import clojure.lang.Keyword;
+import clojure.lang.RT;
+import clojure.lang.Symbol;
+
+public class CljEdnReaderTest {
+
+	private static final String EDN = "{:name \"\u0174haka\" :tags #{:a :b}} [1 2.5 nil] ;; comment\n qwe \"\u0441\u0442\u0440\u043e\u043a\u0430\" nil";
+
+	private static final List<Object> FORMS = Arrays.asList(
+			UberClj.map(Keyword.intern("name"), "\u0174haka", Keyword.intern("tags"), UberClj.set(Keyword.intern("a"), Keyword.intern("b"))),
+			UberClj.vector(1L, 2.5, null),
+			Symbol.intern("qwe"),
+			"\u0441\u0442\u0440\u043e\u043a\u0430",
+			null);
+
+	private static Path file(String content) throws IOException {
+		Path path = Files.createTempFile("clj-edn-reader-test", ".edn");
+		path.toFile().deleteOnExit();
+		Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+		return path;
+	}
+
+	@Test
+	public void forms_are_read_from_file() throws IOException {
+		try (Stream<Object> forms = UberClj.readEdn(file(EDN))) {
+			Assert.assertThat(forms.collect(Collectors.toList()), Matchers.is(FORMS));
+		}
+	}
+
+	@Test
+	public void forms_are_read_across_mapped_windows() throws IOException {
+		// Windows smaller than forms, and splitting multi-byte characters
+		try (CljEdnReader reader = CljEdnReader.open(file(EDN), null, 3)) {
+			Assert.assertThat(reader.stream().collect(Collectors.toList()), Matchers.is(FORMS));
+		}
+	}
+
+	@Test
+	public void forms_are_read_from_channel() {
+		ByteArrayInputStream in = new ByteArrayInputStream(EDN.getBytes(StandardCharsets.UTF_8));
+		try (Stream<Object> forms = UberClj.readEdnStream(Channels.newChannel(in))) {
+			Assert.assertThat(forms.collect(Collectors.toList()), Matchers.is(FORMS));
+		}
+	}
+
+	@Test
+	public void forms_are_read_lazily() throws IOException {
+		try (CljEdnReader reader = CljEdnReader.open(file("1 2 {:unclosed"))) {
+			Assert.assertThat(reader.next(), Matchers.is(1L));
+			Assert.assertThat(reader.next(), Matchers.is(2L));
+			try {
+				reader.hasNext();
+				Assert.fail();
+			} catch (RuntimeException expected) {
+			}
+		}
+	}
+
+	@Test(expected = NoSuchElementException.class)
+	public void empty_file_has_no_forms() throws IOException {
+		try (CljEdnReader reader = CljEdnReader.open(file(" \n "))) {
+			Assert.assertThat(reader.hasNext(), Matchers.is(false));
+			reader.next();
+		}
+	}
+
+	@Test
+	public void tagged_literals_use_specified_readers() throws IOException {
+		IPersistentMap opts = RT.map(Keyword.intern("default"), UberClj.fn(CljCore.NAME, "vector"));
+		try (CljEdnReader reader = CljEdnReader.open(file("#my/tag 42"), opts)) {
+			Assert.assertThat(reader.next(), Matchers.is(UberClj.vector(Symbol.intern("my/tag"), 42L)));
+		}
+	}
+
+	@Test(expected = EdnReader.ReaderException.class)
+	public void eval_is_not_supported() throws IOException {
+		try (CljEdnReader reader = CljEdnReader.open(file("#=(+ 1 2)"))) {
+			reader.next();
+		}
+	}
+}
@@ -0,0 +1,76 @@
+package com.vsubhuman.clj;
+
+import java.lang.reflect.Field;
+import java.util.Collections;
+
+import org.hamcrest.Matchers;
+import org.junit.Assert;
+import org.junit.Test;
+
+import clojure.lang.Associative;
+import clojure.lang.Keyword;
+import clojure.lang.Symbol;
+
+public class CljKeyLookupTest {
+
+	private static final CljNamespace namespace = UberClj.require(TestNames.TEST_NS);
+
+	@Test
+	public void key_returns_interned_keyword() {
+		Assert.assertThat(UberClj.key("field"), Matchers.sameInstance(Keyword.intern("field")));
+		Assert.assertThat(UberClj.key("field"), Matchers.sameInstance(UberClj.key("field")));
+		Assert.assertThat(UberClj.key("a.b/field"), Matchers.sameInstance(Keyword.intern("a.b", "field")));
+	}
+
+	@Test
+	public void keys_stay_identical_after_cache_is_cleared() {
+		Keyword key = UberClj.key("cleared");
+		Symbol sym = UberClj.symbol("cleared");
+		KeyCache.clear();
+		Assert.assertThat(UberClj.key("cleared"), Matchers.sameInstance(key));
+		Assert.assertThat(UberClj.symbol("cleared"), Matchers.equalTo(sym));
+		Assert.assertThat(UberClj.symbol("a.b/cleared"), Matchers.equalTo(Symbol.intern("a.b", "cleared")));
+	}
+
+	@Test
+	public void lookup_reads_maps() {
+		CljKeyLookup lookup = UberClj.keyLookup("x");
+		Assert.assertThat(lookup.key(), Matchers.sameInstance(UberClj.key("x")));
+		Assert.assertThat(lookup.get(UberClj.map(UberClj.key("x"), 1)), Matchers.is(1));
+		Assert.assertThat(lookup.get(UberClj.map(UberClj.key("y"), 1)), Matchers.nullValue());
+		Assert.assertThat(lookup.get(UberClj.map(UberClj.key("y"), 1), 0), Matchers.is(0));
+		Assert.assertThat(lookup.get(null), Matchers.nullValue());
+		Assert.assertThat(lookup.get(null, 0), Matchers.is(0));
+		Assert.assertThat(lookup.get(Collections.singletonMap(UberClj.key("x"), 2)), Matchers.is(2));
+	}
+
+	@Test
+	public void maps_do_not_replace_record_thunk() throws ReflectiveOperationException {
+		Object point = namespace.call(TestNames.FN_POINT, 1, 2);
+		CljKeyLookup x = UberClj.keyLookup("x");
+		Assert.assertThat(x.get(point), Matchers.is(1));
+		Field thunk = CljKeyLookup.class.getDeclaredField("thunk");
+		thunk.setAccessible(true);
+		Object cached = thunk.get(x);
+		Assert.assertThat(x.get(UberClj.map(UberClj.key("x"), 6)), Matchers.is(6));
+		Assert.assertThat(x.get(UberClj.map(UberClj.key("x"), 6), 0), Matchers.is(6));
+		Assert.assertThat(thunk.get(x), Matchers.sameInstance(cached));
+	}
+
+	@Test
+	public void lookup_reads_record_fields_and_extra_keys() {
+		Object point = namespace.call(TestNames.FN_POINT, 1, 2);
+		Object other = namespace.call(TestNames.FN_POINT, 3, 4);
+		Object extended = ((Associative) point).assoc(UberClj.key("z"), 5);
+		CljKeyLookup x = UberClj.keyLookup("x");
+		CljKeyLookup z = UberClj.keyLookup("z");
+		for (int i = 0; i < 3; i++) {
+			Assert.assertThat(x.get(point), Matchers.is(1));
+			Assert.assertThat(x.get(other), Matchers.is(3));
+			Assert.assertThat(x.get(UberClj.map(UberClj.key("x"), 6)), Matchers.is(6));
+			Assert.assertThat(z.get(point), Matchers.nullValue());
+			Assert.assertThat(z.get(point, 0), Matchers.is(0));
+			Assert.assertThat(z.get(extended), Matchers.is(5));
+		}
+	}
+}
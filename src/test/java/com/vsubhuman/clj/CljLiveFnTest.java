@@ -0,0 +1,69 @@
+package com.vsubhuman.clj;
+
+import java.util.NoSuchElementException;
+
+import org.hamcrest.Matchers;
+import org.junit.Assert;
+import org.junit.Test;
+
+import clojure.lang.Var;
+
+public class CljLiveFnTest {
+
+	@Test
+	public void live_fn_calls_function() {
+		try (CljLiveFn live = UberClj.liveFn(TestNames.TEST_NS, TestNames.FN_FIRST)) {
+			Assert.assertThat(live.invoke(), Matchers.nullValue());
+			Assert.assertThat(live.invoke("a", "b"), Matchers.is("a"));
+			Assert.assertThat(live.applyTo(UberClj.seq("a", "b", "c")), Matchers.is("a"));
+		}
+	}
+
+	@Test
+	public void live_fn_follows_redefinitions() {
+		Var var = UberClj.var(TestNames.TEST_NS, "test-live-fn");
+		var.bindRoot(UberClj.fn(TestNames.TEST_NS, TestNames.FN_POW2));
+		try (CljLiveFn live = UberClj.liveFn(TestNames.TEST_NS, "test-live-fn")) {
+			Assert.assertThat(live.invoke(3L), Matchers.is(9L));
+
+			var.bindRoot(UberClj.fn(TestNames.TEST_NS, TestNames.FN_INC_LONG));
+			Assert.assertThat(live.invoke(3L), Matchers.is(4L));
+			Assert.assertThat(live.fn(), Matchers.sameInstance(var.getRawRoot()));
+		}
+	}
+
+	@Test
+	public void closed_live_fn_calls_last_function() {
+		Var var = UberClj.var(TestNames.TEST_NS, "test-live-fn-closed");
+		var.bindRoot(UberClj.fn(TestNames.TEST_NS, TestNames.FN_POW2));
+		CljLiveFn live = UberClj.liveFn(TestNames.TEST_NS, "test-live-fn-closed");
+		live.close();
+
+		var.bindRoot(UberClj.fn(TestNames.TEST_NS, TestNames.FN_INC_LONG));
+		Assert.assertThat(live.invoke(3L), Matchers.is(9L));
+	}
+
+	@Test(expected = NoSuchElementException.class)
+	public void live_fn_fails_for_unbound_var() {
+		UberClj.liveFn(TestNames.TEST_NS, "test-live-fn-unbound");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void live_fn_fails_for_not_function() {
+		UberClj.liveFn(TestNames.TEST_NS, TestNames.STR_QWE);
+	}
+
+	@Test
+	public void live_fn_finds_new_var_after_unmap() {
+		UberClj.var(TestNames.TEST_NS, "test-live-fn-unmapped").bindRoot(UberClj.fn(TestNames.TEST_NS, TestNames.FN_POW2));
+		try (CljLiveFn live = UberClj.liveFn(TestNames.TEST_NS, "test-live-fn-unmapped")) {
+			Var old = live.var();
+			UberClj.unmap(TestNames.TEST_NS, "test-live-fn-unmapped");
+			UberClj.var(TestNames.TEST_NS, "test-live-fn-unmapped").bindRoot(UberClj.fn(TestNames.TEST_NS, TestNames.FN_INC_LONG));
+
+			Assert.assertThat(live.invoke(3L), Matchers.is(4L));
+			Assert.assertThat(live.var(), Matchers.not(Matchers.sameInstance(old)));
+			Assert.assertThat(old.getWatches().count(), Matchers.is(0));
+		}
+	}
+}
@@ -0,0 +1,66 @@
+package com.vsubhuman.clj;
+
+import java.util.NoSuchElementException;
+
+import org.hamcrest.Matchers;
+import org.junit.Assert;
+import org.junit.Test;
+
+import clojure.lang.Var;
+
+public class CljLiveVarTest {
+
+	@Test
+	public void live_var_returns_root_value() {
+		try (CljLiveVar<String> live = UberClj.liveVar(TestNames.TEST_NS, TestNames.STR_QWE)) {
+			Assert.assertThat(live.get(), Matchers.is("qwe"));
+			Assert.assertThat(live.deref(), Matchers.is("qwe"));
+		}
+	}
+
+	@Test
+	public void live_var_follows_redefinitions() {
+		Var var = UberClj.var(TestNames.TEST_NS, "test-live-value");
+		var.bindRoot(1L);
+		try (CljLiveVar<Long> live = UberClj.liveVar(TestNames.TEST_NS, "test-live-value")) {
+			Assert.assertThat(live.get(), Matchers.is(1L));
+
+			var.bindRoot(2L);
+			Assert.assertThat(live.get(), Matchers.is(2L));
+
+			UberClj.call(CljCore.NAME, "alter-var-root", var, UberClj.fn(CljCore.NAME, "inc"));
+			Assert.assertThat(live.get(), Matchers.is(3L));
+		}
+	}
+
+	@Test
+	public void closed_live_var_keeps_last_value() {
+		Var var = UberClj.var(TestNames.TEST_NS, "test-live-closed");
+		var.bindRoot(1L);
+		CljLiveVar<Long> live = UberClj.liveVar(TestNames.TEST_NS, "test-live-closed");
+		live.close();
+
+		var.bindRoot(2L);
+		Assert.assertThat(live.get(), Matchers.is(1L));
+		Assert.assertThat(var.getWatches().count(), Matchers.is(0));
+	}
+
+	@Test(expected = NoSuchElementException.class)
+	public void live_var_fails_for_unbound_var() {
+		UberClj.liveVar(TestNames.TEST_NS, "test-live-unbound");
+	}
+
+	@Test
+	public void live_var_finds_new_var_when_old_one_redefined_after_unmap() {
+		Var old = UberClj.var(TestNames.TEST_NS, "test-live-unmapped");
+		old.bindRoot(1L);
+		try (CljLiveVar<Long> live = UberClj.liveVar(TestNames.TEST_NS, "test-live-unmapped")) {
+			UberClj.unmap(TestNames.TEST_NS, "test-live-unmapped");
+			old.bindRoot(2L);
+			UberClj.var(TestNames.TEST_NS, "test-live-unmapped").bindRoot(3L);
+
+			Assert.assertThat(live.get(), Matchers.is(3L));
+			Assert.assertThat(old.getWatches().count(), Matchers.is(0));
+		}
+	}
+}
@@ -0,0 +1,91 @@
+package com.vsubhuman.clj;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.hamcrest.Matchers;
+import org.junit.Assert;
+import org.junit.Test;
+
+import clojure.lang.IFn;
+import clojure.lang.IHashEq;
+import clojure.lang.IPersistentMap;
+
+public class CljMapViewTest {
+
+	private static final CljNamespace core = CljCore.namespace();
+
+	private static Map<String, Object> javaMap() {
+		Map<String, Object> nested = new HashMap<>();
+		nested.put("x", 1L);
+		Map<String, Object> map = new HashMap<>();
+		map.put("a", 1L);
+		map.put("b", nested);
+		map.put("c", null);
+		return map;
+	}
+
+	@Test
+	public void view_is_read_by_clojure_as_a_map() {
+		CljMapView view = UberClj.mapView(javaMap());
+		Assert.assertThat(core.call("map?", view), Matchers.is(true));
+		Assert.assertThat(core.call("get", view, "a"), Matchers.is(1L));
+		Assert.assertThat(core.call("get-in", view, UberClj.vector("b", "x")), Matchers.is(1L));
+		Assert.assertThat(core.call("contains?", view, "c"), Matchers.is(true));
+		Assert.assertThat(core.call("get", view, "c", 42L), Matchers.nullValue());
+		Assert.assertThat(core.call("get", view, "d", 42L), Matchers.is(42L));
+		Assert.assertThat(core.call("count", view), Matchers.is(3));
+		Assert.assertThat(core.call("set", core.<Object>call("keys", view)), Matchers.is(UberClj.set("a", "b", "c")));
+	}
+
+	@Test
+	public void numeric_keys_are_found_by_clojure_equality() {
+		Map<Integer, String> map = new HashMap<>();
+		map.put(1, "one");
+		CljMapView view = UberClj.mapView(map);
+		Assert.assertThat(view.valAt(1L), Matchers.is("one"));
+		Assert.assertThat(view.valAt(2L, "none"), Matchers.is("none"));
+		Assert.assertThat(view.containsKey(1L), Matchers.is(true));
+		Assert.assertThat(view.entryAt(1L).val(), Matchers.is("one"));
+		Assert.assertThat(core.call("get", view, 1L), Matchers.is("one"));
+		Assert.assertThat(core.call("count", core.<Object>call("dissoc", view, 1L)), Matchers.is(0));
+	}
+
+	@Test
+	public void nested_maps_are_views() {
+		CljMapView view = UberClj.mapView(javaMap());
+		Assert.assertThat(view.valAt("b"), Matchers.instanceOf(CljMapView.class));
+		Assert.assertThat(core.call("map?", core.<Object>call("get", view, "b")), Matchers.is(true));
+	}
+
+	@Test
+	public void view_is_equal_to_persistent_map() {
+		CljMapView view = UberClj.mapView(javaMap());
+		IPersistentMap expected = UberClj.toClj(javaMap());
+		Assert.assertThat(core.call("=", view, expected), Matchers.is(true));
+		Assert.assertThat(view.hasheq(), Matchers.is(((IHashEq) expected).hasheq()));
+	}
+
+	@Test
+	public void assoc_copies_and_does_not_modify_java_map() {
+		Map<String, Object> map = javaMap();
+		CljMapView view = UberClj.mapView(map);
+		IPersistentMap assoced = core.call("assoc", view, "d", 4L);
+		IPersistentMap dissoced = core.call("dissoc", view, "a");
+
+		Assert.assertThat(assoced, Matchers.not(Matchers.instanceOf(CljMapView.class)));
+		Assert.assertThat(assoced.valAt("d"), Matchers.is(4L));
+		Assert.assertThat(assoced.valAt("a"), Matchers.is(1L));
+		Assert.assertThat(dissoced.containsKey("a"), Matchers.is(false));
+		Assert.assertThat(map.keySet(), Matchers.containsInAnyOrder("a", "b", "c"));
+	}
+
+	@Test
+	public void reduce_kv_reads_all_entries() {
+		Map<String, Object> map = new HashMap<>();
+		for (long i = 0; i < 10; i++)
+			map.put("k" + i, i);
+		IFn sumVals = UberClj.require(TestNames.TEST_NS).fn(TestNames.FN_SUM_VALS);
+		Assert.assertThat(core.call("reduce-kv", sumVals, 0L, UberClj.mapView(map)), Matchers.is(45L));
+	}
+}
@@ -0,0 +1,117 @@
+package com.vsubhuman.clj;
+
+import java.math.BigInteger;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hamcrest.Matchers;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import clojure.lang.Atom;
+import clojure.lang.Var;
+
+public class CljMemoFnTest {
+
+	private static final CljNamespace namespace = UberClj.require(TestNames.TEST_NS);
+
+	private final Atom calls = namespace.value(TestNames.ATOM_MEMO_CALLS);
+
+	@Before
+	public void reset() {
+		calls.reset(0L);
+	}
+
+	@Test
+	public void results_are_cached_by_arguments() {
+		CljMemoFn memo = namespace.memoized(TestNames.FN_MEMO, CljCacheSpec.maximumSize(100));
+		Object first = memo.invoke(1L, "a");
+		Assert.assertThat(memo.invoke(1L, "a"), Matchers.sameInstance(first));
+		Assert.assertThat(memo.invoke(2L, "a"), Matchers.not(Matchers.sameInstance(first)));
+		Assert.assertThat(memo.invoke(), Matchers.sameInstance(memo.invoke()));
+		Assert.assertThat(calls.deref(), Matchers.is(3L));
+
+		CljCacheStats stats = memo.stats();
+		Assert.assertThat(stats.hitCount(), Matchers.is(2L));
+		Assert.assertThat(stats.missCount(), Matchers.is(3L));
+		Assert.assertThat(stats.evictionCount(), Matchers.is(0L));
+	}
+
+	@Test
+	public void arguments_are_compared_with_clojure_equality() {
+		CljMemoFn memo = namespace.memoized(TestNames.FN_MEMO, CljCacheSpec.maximumSize(100));
+		memo.invoke(1L, UberClj.vector("a"));
+		memo.invoke(1, BigInteger.ONE);
+		memo.invoke(BigInteger.ONE, 1L);
+		memo.applyTo(UberClj.seq(1, UberClj.list("a")));
+		Assert.assertThat(calls.deref(), Matchers.is(2L));
+	}
+
+	@Test
+	public void least_recently_used_results_are_evicted() {
+		CljMemoFn memo = namespace.memoized(TestNames.FN_MEMO, CljCacheSpec.maximumSize(2));
+		memo.invoke(1L);
+		memo.invoke(2L);
+		memo.invoke(1L);
+		memo.invoke(3L);
+		Assert.assertThat(memo.size(), Matchers.is(2));
+		Assert.assertThat(memo.stats().evictionCount(), Matchers.is(1L));
+
+		memo.invoke(1L);
+		Assert.assertThat(calls.deref(), Matchers.is(3L));
+		memo.invoke(2L);
+		Assert.assertThat(calls.deref(), Matchers.is(4L));
+	}
+
+	@Test
+	public void size_is_bounded_for_segmented_cache() {
+		CljMemoFn memo = namespace.memoized(TestNames.FN_MEMO, CljCacheSpec.maximumSize(1000));
+		for (long i = 0; i < 10_000; i++)
+			memo.invoke(i);
+		Assert.assertThat(memo.size(), Matchers.lessThanOrEqualTo(1000));
+		Assert.assertThat(memo.stats().evictionCount(), Matchers.is(10_000L - memo.size()));
+	}
+
+	@Test
+	public void results_expire_after_write() {
+		AtomicLong time = new AtomicLong();
+		CljCacheSpec spec = CljCacheSpec.maximumSize(100).expireAfterWrite(Duration.ofSeconds(10)).ticker(time::get);
+		CljMemoFn memo = namespace.memoized(TestNames.FN_MEMO, spec);
+		memo.invoke(1L);
+		time.addAndGet(Duration.ofSeconds(9).toNanos());
+		memo.invoke(1L);
+		Assert.assertThat(calls.deref(), Matchers.is(1L));
+
+		time.addAndGet(Duration.ofSeconds(1).toNanos());
+		memo.invoke(1L);
+		Assert.assertThat(calls.deref(), Matchers.is(2L));
+		Assert.assertThat(memo.stats().evictionCount(), Matchers.is(1L));
+	}
+
+	@Test
+	public void invalidated_results_are_computed_again() {
+		CljMemoFn memo = namespace.memoized(TestNames.FN_MEMO, CljCacheSpec.maximumSize(100));
+		memo.invoke(1L);
+		memo.invalidateAll();
+		memo.invoke(1L);
+		Assert.assertThat(calls.deref(), Matchers.is(2L));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void maximum_size_should_be_positive() {
+		CljCacheSpec.maximumSize(0);
+	}
+
+	@Test
+	public void results_are_dropped_when_function_is_redefined() {
+		Var var = UberClj.var(TestNames.TEST_NS, "test-memo-redefined");
+		var.bindRoot(UberClj.fn(TestNames.TEST_NS, TestNames.FN_POW2));
+		CljMemoFn memo = namespace.memoized("test-memo-redefined", CljCacheSpec.maximumSize(100));
+		Assert.assertThat(memo.invoke(3L), Matchers.is(9L));
+
+		var.bindRoot(UberClj.fn(TestNames.TEST_NS, TestNames.FN_INC_LONG));
+		Assert.assertThat(memo.invoke(3L), Matchers.is(4L));
+		Assert.assertThat(memo.size(), Matchers.is(1));
+	}
+}
@@ -0,0 +1,95 @@
+package com.vsubhuman.clj;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hamcrest.Matchers;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import clojure.lang.IFn;
+
+public class CljMetricsTest {
+
+	private static final IFn POW2 = UberClj.fn(TestNames.TEST_NS, TestNames.FN_POW2);
+
+	@After
+	public void reset() {
+		CljMetrics.reset();
+	}
+
+	private static CljCallStats stats() {
+		return CljMetrics.snapshot().get(TestNames.TEST_NS + "/" + TestNames.FN_POW2);
+	}
+
+	@Test
+	public void calls_are_recorded() {
+		for (long i = 0; i < 100; i++)
+			Assert.assertThat(CljMetrics.call(TestNames.TEST_NS, TestNames.FN_POW2, POW2, new Object[]{ i }), Matchers.is(i * i));
+
+		CljCallStats stats = stats();
+		Assert.assertThat(stats.ns(), Matchers.is(TestNames.TEST_NS));
+		Assert.assertThat(stats.name(), Matchers.is(TestNames.FN_POW2));
+		Assert.assertThat(stats.count(), Matchers.is(100L));
+		Assert.assertThat(stats.errorCount(), Matchers.is(0L));
+		Assert.assertThat(stats.percentile(0.5), Matchers.lessThanOrEqualTo(stats.percentile(0.99)));
+		Assert.assertThat(stats.percentile(0.99), Matchers.lessThanOrEqualTo(stats.maxTime()));
+		Assert.assertThat(stats.meanTime(), Matchers.lessThanOrEqualTo(stats.maxTime()));
+	}
+
+	/*
+	 * Metrics are enabled by the `metricsTest` gradle task, which runs all the tests again
+	 */
+	@Test
+	public void api_calls_are_recorded_only_when_enabled() {
+		UberClj.call(TestNames.TEST_NS, TestNames.FN_POW2, 2L);
+		UberClj.require(TestNames.TEST_NS).call(TestNames.FN_POW2, 3L);
+		if (CljMetrics.ENABLED)
+			Assert.assertThat(stats().count(), Matchers.is(2L));
+		else
+			Assert.assertThat(stats(), Matchers.nullValue());
+	}
+
+	@Test
+	public void errors_are_recorded_and_rethrown() {
+		try {
+			CljMetrics.call(TestNames.TEST_NS, TestNames.FN_POW2, POW2, new Object[]{ "qwe" });
+			Assert.fail();
+		} catch (ClassCastException expected) {
+		}
+		Assert.assertThat(stats().count(), Matchers.is(1L));
+		Assert.assertThat(stats().errorCount(), Matchers.is(1L));
+	}
+
+	@Test
+	public void listeners_are_called() {
+		List<String> events = new ArrayList<>();
+		CljCallListener listener = new CljCallListener() {
+			@Override
+			public void started(String ns, String name) {
+				events.add("started " + name);
+			}
+
+			@Override
+			public void finished(String ns, String name, long nanos, Throwable error) {
+				events.add("finished " + name + " " + (error != null));
+			}
+		};
+		CljMetrics.addListener(listener);
+		try {
+			CljMetrics.call(TestNames.TEST_NS, TestNames.FN_POW2, POW2, new Object[]{ 2L });
+		} finally {
+			CljMetrics.removeListener(listener);
+		}
+		CljMetrics.call(TestNames.TEST_NS, TestNames.FN_POW2, POW2, new Object[]{ 2L });
+		Assert.assertThat(events, Matchers.contains("started " + TestNames.FN_POW2, "finished " + TestNames.FN_POW2 + " false"));
+	}
+
+	@Test
+	public void reset_drops_statistics() {
+		CljMetrics.call(TestNames.TEST_NS, TestNames.FN_POW2, POW2, new Object[]{ 2L });
+		CljMetrics.reset();
+		Assert.assertThat(CljMetrics.snapshot().isEmpty(), Matchers.is(true));
+	}
+}
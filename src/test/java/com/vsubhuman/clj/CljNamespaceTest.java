@@ -1,16 +1,33 @@
 package com.vsubhuman.clj;
 
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.LongUnaryOperator;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
 
 import org.hamcrest.Matchers;
 import org.junit.Assert;
 import org.junit.Test;
 
+import com.sun.management.ThreadMXBean;
+
 import clojure.lang.Agent;
 import clojure.lang.Atom;
 import clojure.lang.IFn;
+import clojure.lang.Keyword;
+import clojure.lang.RT;
 import clojure.lang.Ref;
 import clojure.lang.Var;
 
@@ -42,6 +59,12 @@ public class CljNamespaceTest {
 		Assert.assertThat(var.deref(), Matchers.is("qwe"));
 	}
 
+	@Test
+	public void var_is_shared_with_uber_clj() {
+		Var var = namespace.var(TestNames.STR_QWE);
+		Assert.assertThat(UberClj.var(TestNames.TEST_NS, TestNames.STR_QWE), Matchers.sameInstance(var));
+	}
+
 	@Test
 	public void value_returns_derefed_var() {
 		String str = namespace.value(TestNames.STR_QWE);
@@ -97,6 +120,25 @@ public class CljNamespaceTest {
 		Assert.assertThat(sum, Matchers.is(60L));
 	}
 
+	@Test
+	public void call_executes_a_function_with_collection_of_arguments() {
+		List<Long> args = new ArrayList<>();
+		for (long i = 1; i <= 25; i++)
+			args.add(i);
+		Long sum = CljCore.namespace().call("+", args.subList(0, 3));
+		Assert.assertThat(sum, Matchers.is(6L));
+		Assert.assertThat(UberClj.<Long>call(CljCore.NAME, "+", args), Matchers.is(325L));
+	}
+
+	@Test
+	public void call_executes_a_function_with_fixed_arities() {
+		Assert.assertThat(namespace.call(TestNames.FN_FIRST), Matchers.nullValue());
+		Assert.assertThat(namespace.call(TestNames.FN_FIRST, 1), Matchers.is(1));
+		Assert.assertThat(namespace.call(TestNames.FN_FIRST, 1, 2), Matchers.is(1));
+		Assert.assertThat(namespace.call(TestNames.FN_FIRST, 1, 2, 3), Matchers.is(1));
+		Assert.assertThat(namespace.call(TestNames.FN_FIRST, 1, 2, 3, 4), Matchers.is(1));
+	}
+
 	@Test
 	public void fn0_creates_a_aupplier_that_calls_function() {
 		Supplier<Long> sum = CljCore.NAMESPACE.fn0("+");
@@ -114,4 +156,161 @@ public class CljNamespaceTest {
 		BiFunction<Long, Long, Long> sum = CljCore.NAMESPACE.fn2("+");
 		Assert.assertThat(sum.apply(42L, 20L), Matchers.is(62L));
 	}
+
+	@Test
+	public void primitive_adapters_call_primitive_functions() {
+		Assert.assertThat(namespace.fnLong1(TestNames.FN_INC_LONG).applyAsLong(41), Matchers.is(42L));
+		Assert.assertThat(namespace.fnLong2(TestNames.FN_ADD_LONG).applyAsLong(40, 2), Matchers.is(42L));
+		Assert.assertThat(namespace.fnDouble1(TestNames.FN_HALF_DOUBLE).applyAsDouble(5), Matchers.is(2.5));
+		Assert.assertThat(namespace.fnDouble2(TestNames.FN_MUL_DOUBLE).applyAsDouble(2, 1.25), Matchers.is(2.5));
+		Assert.assertThat(namespace.<String>fnToLong1(TestNames.FN_COUNT).applyAsLong("qwe"), Matchers.is(3L));
+		Assert.assertThat(namespace.<String>fnToDouble1(TestNames.FN_LENGTH).applyAsDouble("qwe"), Matchers.is(3.0));
+	}
+
+	@Test
+	public void primitive_adapters_box_non_primitive_functions() {
+		Assert.assertThat(namespace.fnLong1(TestNames.FN_POW2).applyAsLong(12), Matchers.is(144L));
+		Assert.assertThat(namespace.fnDouble1(TestNames.FN_POW2).applyAsDouble(1.5), Matchers.is(2.25));
+		Assert.assertThat(CljCore.namespace().fnLong2("+").applyAsLong(40, 2), Matchers.is(42L));
+		Assert.assertThat(CljCore.namespace().fnDouble2("*").applyAsDouble(2, 1.25), Matchers.is(2.5));
+		Assert.assertThat(CljCore.namespace().fnToLong1("count").applyAsLong("qwe"), Matchers.is(3L));
+		Assert.assertThat(CljCore.namespace().fnToDouble1("count").applyAsDouble("qwe"), Matchers.is(3.0));
+	}
+
+	@Test
+	public void primitive_adapter_does_not_box() {
+		ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long thread = Thread.currentThread().getId();
+		LongUnaryOperator inc = namespace.fnLong1(TestNames.FN_INC_LONG);
+		int n = 100_000;
+
+		long sum = 0;
+		for (int i = 0; i < n; i++)
+			sum += inc.applyAsLong(i + 1000);
+
+		long before = threads.getThreadAllocatedBytes(thread);
+		for (int i = 0; i < n; i++)
+			sum += inc.applyAsLong(i + 1000);
+		long allocated = threads.getThreadAllocatedBytes(thread) - before;
+
+		Assert.assertThat(sum, Matchers.greaterThan(0L));
+		Assert.assertThat(allocated, Matchers.lessThan((long) n));
+	}
+
+	private static List<Object[]> rows(int size) {
+		List<Object[]> rows = new ArrayList<>();
+		for (long i = 0; i < size; i++)
+			rows.add(new Object[]{ i });
+		return rows;
+	}
+
+	@Test
+	public void call_batch_returns_results_in_order() {
+		List<Long> results = namespace.callBatch(TestNames.FN_POW2, rows(100));
+		Assert.assertThat(results.size(), Matchers.is(100));
+		for (int i = 0; i < 100; i++)
+			Assert.assertThat(results.get(i), Matchers.is((long) i * i));
+	}
+
+	@Test
+	public void call_batch_supports_different_arities() {
+		List<Object[]> rows = Arrays.asList(new Object[]{}, new Object[]{ 1 }, new Object[]{ 2, 3 }, new Object[]{ 4, 5, 6 });
+		List<Object> results = namespace.callBatch(TestNames.FN_FIRST, new LinkedList<>(rows));
+		Assert.assertThat(results, Matchers.contains(null, 1, 2, 4));
+	}
+
+	@Test
+	public void call_batch_in_parallel_returns_results_in_order() {
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			List<Long> results = namespace.callBatch(TestNames.FN_POW2, rows(10_000), pool);
+			for (int i = 0; i < 10_000; i++)
+				Assert.assertThat(results.get(i), Matchers.is((long) i * i));
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void call_batch_in_parallel_conveys_bindings() {
+		ForkJoinPool pool = new ForkJoinPool(4);
+		Var.pushThreadBindings(RT.map(namespace.var(TestNames.DYNAMIC), Keyword.intern("bound")));
+		try {
+			List<Object> results = namespace.callBatch(TestNames.FN_DYNAMIC, Collections.nCopies(100, new Object[0]), pool);
+			Assert.assertThat(new HashSet<>(results), Matchers.contains(Keyword.intern("bound")));
+		} finally {
+			Var.popThreadBindings();
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void call_batch_with_iterator_is_lazy() {
+		Iterator<Object[]> args = rows(3).iterator();
+		Iterator<Long> results = namespace.callBatch(TestNames.FN_POW2, args);
+		Assert.assertThat(results.next(), Matchers.is(0L));
+		Assert.assertThat(args.hasNext(), Matchers.is(true));
+		Assert.assertThat(results.next(), Matchers.is(1L));
+		Assert.assertThat(results.next(), Matchers.is(4L));
+		Assert.assertThat(results.hasNext(), Matchers.is(false));
+	}
+
+	public interface TestFirst {
+
+		String first(String a, String b);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void as_creates_lambda_when_function_is_called_directly() {
+		Function<Object, Object> pow2 = namespace.as(Function.class, TestNames.FN_POW2);
+		LongUnaryOperator inc = namespace.as(LongUnaryOperator.class, TestNames.FN_INC_LONG);
+		TestFirst first = namespace.as(TestFirst.class, TestNames.FN_FIRST);
+
+		Assert.assertThat(pow2.apply(3L), Matchers.is(9L));
+		Assert.assertThat(inc.applyAsLong(41), Matchers.is(42L));
+		Assert.assertThat(first.first("a", "b"), Matchers.is("a"));
+
+		// Lambda classes are synthetic
+		Assert.assertThat(pow2.getClass().isSynthetic(), Matchers.is(true));
+		Assert.assertThat(inc.getClass().isSynthetic(), Matchers.is(true));
+		Assert.assertThat(first.getClass().isSynthetic(), Matchers.is(true));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void as_converts_results_to_primitive_types() {
+		Predicate<Object> first = namespace.as(Predicate.class, TestNames.FN_FIRST);
+		ToIntFunction<Object> count = namespace.as(ToIntFunction.class, TestNames.FN_COUNT);
+		Comparator<Object> compare = UberClj.require(CljCore.NAME).as(Comparator.class, "compare");
+
+		Assert.assertThat(first.test("qwe"), Matchers.is(true));
+		Assert.assertThat(first.test(null), Matchers.is(false));
+		Assert.assertThat(first.test(false), Matchers.is(false));
+		Assert.assertThat(count.applyAsInt(Arrays.asList(1, 2, 3)), Matchers.is(3));
+		Assert.assertThat(compare.compare(1, 2), Matchers.lessThan(0));
+		Assert.assertThat(compare.compare("b", "a"), Matchers.greaterThan(0));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void as_fails_for_not_functional_interface() {
+		namespace.as(Iterator.class, TestNames.FN_FIRST);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void as_fails_for_wrong_arity() {
+		namespace.as(BiFunction.class, TestNames.FN_POW2);
+	}
+
+	@Test
+	public void reload_increments_version() {
+		CljNamespace ns = UberClj.require("com.vsubhuman.clj.reload.base");
+		Atom loads = UberClj.value("com.vsubhuman.clj.reload.log", "loads");
+		int version = ns.version();
+		int count = RT.count(loads.deref());
+
+		Assert.assertThat(ns.reload(), Matchers.sameInstance(ns));
+		Assert.assertThat(ns.version(), Matchers.greaterThan(version));
+		Assert.assertThat(RT.count(loads.deref()), Matchers.is(count + 1));
+	}
 }
@@ -0,0 +1,77 @@
+package com.vsubhuman.clj;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+import org.hamcrest.Matchers;
+import org.junit.Assert;
+import org.junit.Test;
+
+import clojure.lang.PersistentVector;
+
+public class CljSpliteratorsTest {
+
+	private static final CljNamespace namespace = UberClj.require(TestNames.TEST_NS);
+
+	private static PersistentVector range(int size) {
+		return UberClj.vector(IntStream.range(0, size).boxed().collect(Collectors.toList()));
+	}
+
+	@Test
+	public void vector_is_streamed_in_order() {
+		for (int size : new int[]{ 0, 1, 31, 32, 33, 1000, 1057 }) {
+			List<Object> list = UberClj.stream(range(size)).collect(Collectors.toList());
+			Assert.assertThat(list, Matchers.is(range(size)));
+		}
+	}
+
+	@Test
+	public void vector_is_split_by_index_ranges() {
+		Spliterator<Object> right = CljSpliterators.of(range(1000));
+		Spliterator<Object> left = right.trySplit();
+		Assert.assertThat(left.estimateSize(), Matchers.is(500L));
+		Assert.assertThat(right.estimateSize(), Matchers.is(500L));
+		Assert.assertTrue(right.hasCharacteristics(Spliterator.SUBSIZED));
+
+		// Tail of the split is read by whole leaves
+		Spliterator<Object> tail = left.trySplit();
+		Assert.assertThat(StreamSupport.stream(left, false).collect(Collectors.toList()),
+				Matchers.is(range(1000).subList(250, 500)));
+		Assert.assertThat(StreamSupport.stream(tail, false).count(), Matchers.is(250L));
+	}
+
+	@Test
+	public void parallel_stream_over_vector_is_complete() {
+		long sum = UberClj.<Integer>stream(range(100_000)).parallel().mapToLong(i -> i).sum();
+		Assert.assertThat(sum, Matchers.is(99_999L * 100_000 / 2));
+	}
+
+	@Test
+	public void set_and_map_are_streamed() {
+		Assert.assertThat(UberClj.stream(UberClj.set(1, 2, 3)).collect(Collectors.toSet()),
+				Matchers.containsInAnyOrder(1, 2, 3));
+		Map<Object, Object> map = UberClj.<Map.Entry<Object, Object>>stream(UberClj.map("a", 1, "b", 2))
+				.collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+		Assert.assertThat(map, Matchers.is(UberClj.map("a", 1, "b", 2)));
+	}
+
+	@Test
+	public void lazy_seq_is_streamed_incrementally() {
+		List<Object> first = UberClj.stream(namespace.call(TestNames.FN_LAZY_RANGE))
+				.limit(10).collect(Collectors.toList());
+		Assert.assertThat(first, Matchers.is(Arrays.<Object>asList(0L, 1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L)));
+
+		// Lazy seq is realized by chunks at most
+		Assert.assertThat(namespace.<Long>deref(TestNames.ATOM_REALIZED), Matchers.lessThanOrEqualTo(32L));
+	}
+
+	@Test
+	public void nil_is_streamed_as_empty() {
+		Assert.assertThat(UberClj.stream(null).count(), Matchers.is(0L));
+	}
+}
@@ -0,0 +1,69 @@
+package com.vsubhuman.clj;
+
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.hamcrest.Matchers;
+import org.junit.Assert;
+import org.junit.Test;
+
+import clojure.lang.IPersistentMap;
+import clojure.lang.PersistentHashMap;
+
+public class CljStripedAtomTest {
+
+	@Test
+	public void stripes_are_rounded_up_to_power_of_two() {
+		Assert.assertThat(UberClj.stripedAtom(3, 0L, Long::sum).stripes(), Matchers.is(4));
+		Assert.assertThat(UberClj.stripedAtom(1, 0L, Long::sum).stripes(), Matchers.is(1));
+		Assert.assertThat(UberClj.stripedAtom(0L, Long::sum).stripes(), Matchers.greaterThanOrEqualTo(1));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void non_positive_stripes_throw_exception() {
+		UberClj.stripedAtom(0, 0L, Long::sum);
+	}
+
+	@Test
+	public void counter_is_merged_from_all_stripes() throws Exception {
+		CljStripedAtom<Long> counter = UberClj.stripedAtom(4, 0L, Long::sum);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			Future<?>[] futures = new Future<?>[4];
+			for (int t = 0; t < futures.length; t++)
+				futures[t] = executor.submit(() -> {
+					for (int i = 0; i < 10000; i++)
+						counter.swap(x -> x + 1);
+				});
+			for (Future<?> f : futures)
+				f.get();
+		} finally {
+			executor.shutdown();
+		}
+		Assert.assertThat(counter.get(), Matchers.is(40000L));
+		Assert.assertThat(counter.deref(), Matchers.is(40000L));
+		Assert.assertThat(counter.swapCount(), Matchers.is(40000L));
+	}
+
+	@Test
+	public void keyed_updates_shard_map_by_keys() {
+		CljStripedAtom<IPersistentMap> map = UberClj.stripedAtom(8, PersistentHashMap.EMPTY, (a, b) -> {
+			IPersistentMap merged = a;
+			for (Object e : (Iterable<?>) b) {
+				Map.Entry<?, ?> entry = (Map.Entry<?, ?>) e;
+				merged = merged.assoc(entry.getKey(), entry.getValue());
+			}
+			return merged;
+		});
+		for (long i = 0; i < 100; i++) {
+			long key = i % 10;
+			map.swap(key, m -> m.assoc(key, (Long) m.valAt(key, 0L) + 1));
+		}
+		IPersistentMap merged = map.get();
+		Assert.assertThat(merged.count(), Matchers.is(10));
+		for (long key = 0; key < 10; key++)
+			Assert.assertThat(merged.valAt(key), Matchers.is(10L));
+	}
+}
@@ -0,0 +1,44 @@
+package com.vsubhuman.clj;
+
+import java.util.Map;
+
+import org.hamcrest.Matchers;
+import org.junit.Assert;
+import org.junit.Test;
+
+import clojure.lang.IFn;
+import clojure.lang.PersistentVector;
+
+public class FoldsTest {
+
+	private static PersistentVector range(int size) {
+		CljVectorBuilder builder = UberClj.vectorBuilder();
+		for (long i = 0; i < size; i++)
+			builder.add(i);
+		return builder.build();
+	}
+
+	@Test
+	public void fold_with_clojure_functions() {
+		IFn plus = CljCore.namespace().fn("+");
+		Long sum = UberClj.fold(range(10_000), plus, plus, 100);
+		Assert.assertThat(sum, Matchers.is(9_999L * 10_000 / 2));
+		Assert.assertThat(UberClj.<Long>fold(range(10), plus, plus), Matchers.is(45L));
+	}
+
+	@Test
+	public void fold_with_java_functions() {
+		Long sum = UberClj.fold(range(100_000), () -> 0L, Long::sum, (Long acc, Object x) -> acc + (Long) x, 1000);
+		Assert.assertThat(sum, Matchers.is(99_999L * 100_000 / 2));
+	}
+
+	@Test
+	public void fold_of_map_passes_entries() {
+		CljMapBuilder builder = UberClj.mapBuilder(1000);
+		for (long i = 0; i < 1000; i++)
+			builder.put("k" + i, i);
+		Long sum = UberClj.fold(builder.build(), () -> 0L, Long::sum,
+				(Long acc, Object e) -> acc + (Long) ((Map.Entry<?, ?>) e).getValue(), 10);
+		Assert.assertThat(sum, Matchers.is(999L * 1000 / 2));
+	}
+}
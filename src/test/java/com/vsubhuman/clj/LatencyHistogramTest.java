@@ -0,0 +1,46 @@
+package com.vsubhuman.clj;
+
+import org.hamcrest.Matchers;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+	@Test
+	public void values_are_within_their_buckets() {
+		long[] values = { 0, 1, 15, 16, 17, 31, 32, 33, 1000, 123_456_789, Long.MAX_VALUE };
+		for (long value : values) {
+			int index = LatencyHistogram.index(value);
+			Assert.assertThat(index, Matchers.lessThan(LatencyHistogram.BUCKETS));
+			Assert.assertThat(LatencyHistogram.lowest(index), Matchers.lessThanOrEqualTo(value));
+			Assert.assertThat(LatencyHistogram.highest(index), Matchers.greaterThanOrEqualTo(value));
+		}
+	}
+
+	@Test
+	public void buckets_are_contiguous() {
+		for (int i = 0; i + 1 < LatencyHistogram.BUCKETS; i++)
+			Assert.assertThat(LatencyHistogram.lowest(i + 1), Matchers.is(LatencyHistogram.highest(i) + 1));
+		Assert.assertThat(LatencyHistogram.index(Long.MAX_VALUE), Matchers.is(LatencyHistogram.BUCKETS - 1));
+	}
+
+	@Test
+	public void relative_error_is_bounded() {
+		for (long value = LatencyHistogram.SUB_BUCKETS; value < 1L << 40; value = value * 3 + 1) {
+			int index = LatencyHistogram.index(value);
+			long width = LatencyHistogram.highest(index) - LatencyHistogram.lowest(index);
+			Assert.assertThat((double) width / value, Matchers.lessThan(1.0 / LatencyHistogram.SUB_BUCKETS));
+		}
+	}
+
+	@Test
+	public void recorded_values_are_counted() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		histogram.record(5);
+		histogram.record(5);
+		histogram.record(-1);
+		long[] counts = histogram.counts();
+		Assert.assertThat(counts[5], Matchers.is(2L));
+		Assert.assertThat(counts[0], Matchers.is(1L));
+	}
+}
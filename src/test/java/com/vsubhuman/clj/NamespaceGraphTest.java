@@ -0,0 +1,62 @@
+package com.vsubhuman.clj;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.hamcrest.Matchers;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class NamespaceGraphTest {
+
+	private static final String ROOT = "com.vsubhuman.clj.preload.root";
+	private static final String LEFT = "com.vsubhuman.clj.preload.left";
+	private static final String RIGHT = "com.vsubhuman.clj.preload.right";
+	private static final String COMMON = "com.vsubhuman.clj.preload.common";
+
+	@Test
+	public void dependencies_are_read_from_require_and_use_clauses() {
+		Set<String> deps = NamespaceGraph.dependencies(ROOT);
+		Assert.assertThat(deps, Matchers.contains(LEFT, RIGHT, COMMON));
+	}
+
+	@Test
+	public void dependencies_of_unknown_namespace_are_empty() {
+		Assert.assertThat(NamespaceGraph.dependencies("qwe.rty.qaz"), Matchers.empty());
+	}
+
+	@Test
+	public void graph_includes_transitive_dependencies_except_skipped() {
+		Map<String, Set<String>> graph = NamespaceGraph.build(Arrays.asList(ROOT), "clojure.string"::equals);
+		Assert.assertThat(graph.keySet(), Matchers.contains(ROOT, LEFT, RIGHT, COMMON));
+		Assert.assertThat(graph.get(RIGHT), Matchers.contains(COMMON));
+		Assert.assertThat(graph.get(COMMON), Matchers.empty());
+
+		Map<String, Set<String>> dependents = NamespaceGraph.dependents(graph);
+		Assert.assertThat(dependents.get(COMMON), Matchers.containsInAnyOrder(ROOT, LEFT, RIGHT));
+		Assert.assertThat(dependents.get(ROOT), Matchers.is(Collections.<String>emptySet()));
+	}
+
+	@Test
+	public void order_places_dependencies_first() {
+		Map<String, Set<String>> graph = NamespaceGraph.build(Arrays.asList(ROOT), "clojure.string"::equals);
+		List<String> order = NamespaceGraph.order(graph);
+		Assert.assertThat(order, Matchers.containsInAnyOrder(ROOT, LEFT, RIGHT, COMMON));
+		Assert.assertThat(order.get(0), Matchers.is(COMMON));
+		Assert.assertThat(order.get(3), Matchers.is(ROOT));
+	}
+
+	@Test
+	public void order_places_cycles_last() {
+		Map<String, Set<String>> graph = new LinkedHashMap<>();
+		graph.put("a", new HashSet<>(Arrays.asList("b")));
+		graph.put("b", new HashSet<>(Arrays.asList("a")));
+		graph.put("c", new HashSet<>());
+		Assert.assertThat(NamespaceGraph.order(graph), Matchers.contains("c", "a", "b"));
+	}
+}
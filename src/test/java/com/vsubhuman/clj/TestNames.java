@@ -18,6 +18,31 @@ public final class TestNames {
 	public static final String AGENT_STR_QWE = "test-agent-str-qwe";
 	
 	public static final String FN_POW2 = "test-fn-pow2";
+	public static final String FN_FIRST = "test-fn-first";
+	
+	public static final String FN_INC_LONG = "test-fn-inc-long";
+	public static final String FN_ADD_LONG = "test-fn-add-long";
+	public static final String FN_HALF_DOUBLE = "test-fn-half-double";
+	public static final String FN_MUL_DOUBLE = "test-fn-mul-double";
+	public static final String FN_COUNT = "test-fn-count";
+	public static final String FN_LENGTH = "test-fn-length";
+	public static final String FN_SUM_VALS = "test-fn-sum-vals";
+	
+	public static final String ATOM_REALIZED = "test-realized";
+	public static final String FN_LAZY_RANGE = "test-fn-lazy-range";
+	
+	public static final String DYNAMIC = "*test-dynamic*";
+	public static final String FN_DYNAMIC = "test-fn-dynamic";
+	public static final String DYNAMIC_OTHER = "*test-dynamic-other*";
+	public static final String FN_DYNAMICS = "test-fn-dynamics";
+
+	public static final String ATOM_MEMO_CALLS = "test-memo-calls";
+	public static final String FN_MEMO = "test-fn-memo";
+
+	public static final String FN_POINT = "test-fn-point";
+
+	public static final String ATOM_COUNTER = "test-counter";
+	public static final String ATOM_VALIDATED = "test-validated";
 	
 	private TestNames() {
 	}
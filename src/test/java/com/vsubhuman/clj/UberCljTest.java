@@ -2,22 +2,38 @@ package com.vsubhuman.clj;
 
 import static com.vsubhuman.clj.TestNames.*;
 
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.hamcrest.Matchers;
 import org.junit.Assert;
+import org.junit.Assume;
 import org.junit.Test;
 
+import com.sun.management.ThreadMXBean;
+
+import clojure.lang.Atom;
 import clojure.lang.IFn;
 import clojure.lang.IPersistentList;
+import clojure.lang.IPersistentMap;
 import clojure.lang.ISeq;
+import clojure.lang.Namespace;
 import clojure.lang.PersistentHashMap;
 import clojure.lang.PersistentHashSet;
 import clojure.lang.PersistentVector;
+import clojure.lang.Symbol;
 import clojure.lang.Var;
 
 public class UberCljTest {
@@ -26,6 +42,37 @@ public class UberCljTest {
 		UberClj.require(TEST_NS);
 	}
 	
+	@Test
+	public void test_require_returns_the_same_namespace() {
+		CljNamespace ns = UberClj.require(TEST_NS);
+		Assert.assertThat(ns.name, Matchers.is(TEST_NS));
+		Assert.assertThat(UberClj.require(TEST_NS), Matchers.sameInstance(ns));
+	}
+
+	@Test
+	public void test_preload_loads_dependencies_first() {
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			Map<String, Duration> timings = UberClj.preload(
+					Arrays.asList("com.vsubhuman.clj.preload.root"), executor);
+
+			List<String> order = new ArrayList<>(timings.keySet());
+			Assert.assertThat(order, Matchers.hasItems(
+					"com.vsubhuman.clj.preload.root",
+					"com.vsubhuman.clj.preload.left",
+					"com.vsubhuman.clj.preload.right",
+					"com.vsubhuman.clj.preload.common"));
+			Assert.assertThat(order.get(0), Matchers.is("com.vsubhuman.clj.preload.common"));
+			Assert.assertThat(order.get(order.size() - 1), Matchers.is("com.vsubhuman.clj.preload.root"));
+			Assert.assertThat(UberClj.value("com.vsubhuman.clj.preload.root", "value"), Matchers.is(23L));
+
+			// Loaded namespaces are not loaded again
+			Assert.assertThat(UberClj.preload(Arrays.asList("com.vsubhuman.clj.preload.root"), executor).size(), Matchers.is(0));
+		} finally {
+			executor.shutdown();
+		}
+	}
+
 	@Test
 	public void test_var_is_validly_loaded() {
 
@@ -59,6 +106,45 @@ public class UberCljTest {
 		Assert.assertThat(var.deref(), Matchers.instanceOf(Var.Unbound.class));
 	}
 
+	@Test
+	public void test_var_is_cached_until_unmapped() {
+		Var var = UberClj.var(TEST_NS, "test-cached-var");
+		Assert.assertThat(UberClj.var(TEST_NS, "test-cached-var"), Matchers.sameInstance(var));
+
+		// After var is unmapped - a new var is interned at the same name
+		UberClj.unmap(TEST_NS, "test-cached-var");
+		Var var2 = UberClj.var(TEST_NS, "test-cached-var");
+		Assert.assertThat(var2, Matchers.not(Matchers.sameInstance(var)));
+		Assert.assertThat(UberClj.var(TEST_NS, "test-cached-var"), Matchers.sameInstance(var2));
+	}
+
+	@Test
+	public void test_var_unmapped_from_clojure_is_resolved_again() {
+		Var var = UberClj.var(TEST_NS, "test-clojure-unmapped");
+		var.bindRoot(1L);
+		Assert.assertThat(UberClj.value(TEST_NS, "test-clojure-unmapped"), Matchers.is(1L));
+		int version = UberClj.require(TEST_NS).version();
+
+		CljCore.namespace().call("ns-unmap", Symbol.intern(TEST_NS), Symbol.intern("test-clojure-unmapped"));
+		Var var2 = UberClj.var(TEST_NS, "test-clojure-unmapped");
+		Assert.assertThat(var2, Matchers.not(Matchers.sameInstance(var)));
+		Assert.assertThat(var2.isBound(), Matchers.is(false));
+		Assert.assertThat(UberClj.require(TEST_NS).version(), Matchers.greaterThan(version));
+	}
+
+	@Test
+	public void test_var_of_removed_namespace_is_resolved_again() {
+		String ns = "com.vsubhuman.clj.removed-ns";
+		Var var = UberClj.var(ns, "x");
+		var.bindRoot(1L);
+		Assert.assertThat(UberClj.var(ns, "x"), Matchers.sameInstance(var));
+
+		CljCore.namespace().call("remove-ns", Symbol.intern(ns));
+		Var var2 = UberClj.var(ns, "x");
+		Assert.assertThat(var2, Matchers.not(Matchers.sameInstance(var)));
+		Assert.assertThat(var2.ns, Matchers.sameInstance(Namespace.find(Symbol.intern(ns))));
+	}
+
 	@Test
 	public void test_fn() {
 		UberClj.require(TEST_NS);
@@ -78,6 +164,54 @@ public class UberCljTest {
 		UberClj.fn(TEST_NS, STR_QWE);
 	}
 	
+	@Test
+	public void call_passes_arguments_to_fixed_arities() {
+		Assert.assertThat(UberClj.call(TEST_NS, FN_FIRST), Matchers.nullValue());
+		Assert.assertThat(UberClj.call(TEST_NS, FN_FIRST, 1), Matchers.is(1));
+		Assert.assertThat(UberClj.call(TEST_NS, FN_FIRST, 1, 2), Matchers.is(1));
+		Assert.assertThat(UberClj.call(TEST_NS, FN_FIRST, 1, 2, 3), Matchers.is(1));
+		Assert.assertThat(UberClj.call(TEST_NS, FN_FIRST, 1, 2, 3, 4), Matchers.is(1));
+	}
+
+	@Test
+	public void call_with_varargs_falls_back_to_apply_on_many_arguments() {
+		Object[] args = new Object[30];
+		Arrays.fill(args, 1L);
+		for (int i = 0; i <= args.length; i++) {
+			Long sum = UberClj.call("clojure.core", "+", Arrays.copyOf(args, i));
+			Assert.assertThat(sum, Matchers.is((long) i));
+		}
+	}
+
+	@Test
+	public void call_with_small_arity_does_not_allocate() {
+		// Recorded calls allocate arrays of arguments
+		Assume.assumeFalse(CljMetrics.ENABLED);
+		ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long thread = Thread.currentThread().getId();
+		Object a = "a", b = "b", c = "c", d = "d";
+		int n = 100_000;
+
+		for (int i = 0; i < n; i++)
+			callAllArities(a, b, c, d);
+
+		long before = threads.getThreadAllocatedBytes(thread);
+		for (int i = 0; i < n; i++)
+			callAllArities(a, b, c, d);
+		long allocated = threads.getThreadAllocatedBytes(thread) - before;
+
+		// Less than a single byte per call is allowed for the measurement itself
+		Assert.assertThat(allocated, Matchers.lessThan((long) n));
+	}
+
+	private static void callAllArities(Object a, Object b, Object c, Object d) {
+		UberClj.call(TEST_NS, FN_FIRST);
+		UberClj.call(TEST_NS, FN_FIRST, a);
+		UberClj.call(TEST_NS, FN_FIRST, a, b);
+		UberClj.call(TEST_NS, FN_FIRST, a, b, c);
+		UberClj.call(TEST_NS, FN_FIRST, a, b, c, d);
+	}
+
 	@Test
 	public void vector_factory() {
 		PersistentVector vector = UberClj.vector(1,2,3,4,4,5,5);
@@ -108,6 +242,54 @@ public class UberCljTest {
 		Assert.assertThat(map, Matchers.is(expected));
 	}
 	
+	@Test
+	public void collection_factories_from_java_collections() {
+		Assert.assertThat(UberClj.vector(new LinkedHashSet<>(Arrays.asList(1,2,3))), Matchers.is(Arrays.asList(1,2,3)));
+		Assert.assertThat(UberClj.list(new LinkedHashSet<>(Arrays.asList(1,2,3))), Matchers.is(Arrays.asList(1,2,3)));
+		Assert.assertThat(UberClj.set(Arrays.asList(1,2,2,3)), Matchers.is(new HashSet<>(Arrays.asList(1,2,3))));
+		Assert.assertThat(UberClj.map(Arrays.asList(1,2, 3,4)), Matchers.is(UberClj.map(1,2, 3,4)));
+
+		Map<Integer, Integer> expected = new HashMap<>();
+		expected.put(1, 2);
+		expected.put(3, 4);
+		Assert.assertThat(UberClj.map(expected), Matchers.is(expected));
+	}
+	
+	@Test
+	public void collection_factories_from_iterables() {
+		Path path = Paths.get("a", "b");
+		PersistentHashMap cljMap = UberClj.map(1, 2);
+		Assert.assertThat(UberClj.vector(path).count(), Matchers.is(1));
+		Assert.assertThat(UberClj.vector(cljMap).count(), Matchers.is(1));
+		Assert.assertThat(UberClj.set(cljMap).count(), Matchers.is(1));
+
+		Assert.assertThat(UberClj.vectorOf(path), Matchers.is(Arrays.asList(Paths.get("a"), Paths.get("b"))));
+		Assert.assertThat(UberClj.setOf(cljMap), Matchers.is(UberClj.set((Object) UberClj.vector(1, 2))));
+	}
+	
+	@Test
+	public void to_clj_converts_java_data_recursively() {
+		Map<String, Object> nested = new HashMap<>();
+		nested.put("list", Arrays.asList(1, Arrays.asList(2, 3)));
+		nested.put("set", new HashSet<>(Arrays.asList(4, 5)));
+		nested.put("array", new Object[]{ 6, UberClj.vector(7) });
+		Map<String, Object> map = new HashMap<>();
+		map.put("nested", nested);
+		map.put("value", "qwe");
+
+		Object converted = UberClj.toClj(map);
+		Object expected = UberClj.map(
+				"nested", UberClj.map(
+						"list", UberClj.vector(1, UberClj.vector(2, 3)),
+						"set", UberClj.set(4, 5),
+						"array", UberClj.vector(6, UberClj.vector(7))),
+				"value", "qwe");
+		Assert.assertThat(converted, Matchers.instanceOf(IPersistentMap.class));
+		Assert.assertThat(CljCore.namespace().call("=", converted, expected), Matchers.is(true));
+		Assert.assertThat(CljCore.namespace().call("vector?", UberClj.<Object>toClj(Arrays.asList(1, 2))), Matchers.is(true));
+		Assert.assertThat(UberClj.toClj("qwe"), Matchers.is("qwe"));
+	}
+	
 	@Test(expected = IllegalArgumentException.class)
 	public void map_factory_throws_exception_on_uneven_elements() {
 		UberClj.map(1,2,3);
@@ -118,4 +300,38 @@ public class UberCljTest {
 		ISeq seq = UberClj.seq(1,2,3,4,4,5,5);
 		Assert.assertThat(seq, Matchers.is(Arrays.asList(1,2,3,4,4,5,5)));
 	}
+
+	@Test
+	public void reload_all_reloads_in_dependency_order() {
+		String app = "com.vsubhuman.clj.reload.app";
+		String base = "com.vsubhuman.clj.reload.base";
+		String log = "com.vsubhuman.clj.reload.log";
+		CljNamespace ns = UberClj.require(app);
+		Atom loads = UberClj.value(log, "loads");
+		int version = ns.version();
+		loads.reset(UberClj.vector());
+
+		List<String> order = UberClj.reloadAll(Arrays.asList(app, base));
+
+		Assert.assertThat(order, Matchers.contains(base, app));
+		Assert.assertThat((List<?>) loads.deref(), Matchers.contains("base", "app"));
+		Assert.assertThat(ns.version(), Matchers.greaterThan(version));
+		Assert.assertThat(UberClj.call(app, "value"), Matchers.is(2L));
+	}
+
+	@Test
+	public void reload_all_orders_thru_unspecified_dependencies() {
+		String a = "com.vsubhuman.clj.reload.chain-a";
+		String b = "com.vsubhuman.clj.reload.chain-b";
+		String log = "com.vsubhuman.clj.reload.log";
+		UberClj.require(a);
+		Atom loads = UberClj.value(log, "loads");
+		loads.reset(UberClj.vector());
+
+		List<String> order = UberClj.reloadAll(Arrays.asList(a, b));
+
+		Assert.assertThat(order, Matchers.contains(b, a));
+		Assert.assertThat((List<?>) loads.deref(), Matchers.contains("chain-b", "chain-a"));
+		Assert.assertThat(UberClj.call(a, "value"), Matchers.is(3L));
+	}
 }
@@ -0,0 +1,3 @@
+(ns com.vsubhuman.clj.preload.common)
+
+(def common-value 10)
@@ -0,0 +1,4 @@
+(ns com.vsubhuman.clj.preload.left
+  (:require [com.vsubhuman.clj.preload.common :refer [common-value]]))
+
+(def value (inc common-value))
@@ -0,0 +1,5 @@
+(ns com.vsubhuman.clj.preload.right
+  (:require com.vsubhuman.clj.preload.common
+            [clojure.string :as str]))
+
+(def value (count (str/trim " 12 ")))
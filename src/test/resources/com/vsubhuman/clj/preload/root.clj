@@ -0,0 +1,6 @@
+(ns com.vsubhuman.clj.preload.root
+  (:require [com.vsubhuman.clj.preload.left :as left]
+            (com.vsubhuman.clj.preload right))
+  (:use com.vsubhuman.clj.preload.common))
+
+(def value (+ left/value com.vsubhuman.clj.preload.right/value common-value))
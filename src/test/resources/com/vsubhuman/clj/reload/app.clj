@@ -0,0 +1,7 @@
+(ns com.vsubhuman.clj.reload.app
+  (:require [com.vsubhuman.clj.reload.base :as base]
+            [com.vsubhuman.clj.reload.log :as log]))
+
+(swap! log/loads conj "app")
+
+(defn value [] (inc (base/value)))
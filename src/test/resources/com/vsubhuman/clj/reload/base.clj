@@ -0,0 +1,6 @@
+(ns com.vsubhuman.clj.reload.base
+  (:require [com.vsubhuman.clj.reload.log :as log]))
+
+(swap! log/loads conj "base")
+
+(defn value [] 1)
@@ -0,0 +1,7 @@
+(ns com.vsubhuman.clj.reload.chain-a
+  (:require [com.vsubhuman.clj.reload.chain-x :as x]
+            [com.vsubhuman.clj.reload.log :as log]))
+
+(swap! log/loads conj "chain-a")
+
+(defn value [] (inc (x/value)))
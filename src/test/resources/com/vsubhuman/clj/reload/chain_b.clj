@@ -0,0 +1,6 @@
+(ns com.vsubhuman.clj.reload.chain-b
+  (:require [com.vsubhuman.clj.reload.log :as log]))
+
+(swap! log/loads conj "chain-b")
+
+(defn value [] 1)
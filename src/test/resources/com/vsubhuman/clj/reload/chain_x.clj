@@ -0,0 +1,7 @@
+(ns com.vsubhuman.clj.reload.chain-x
+  (:require [com.vsubhuman.clj.reload.chain-b :as b]
+            [com.vsubhuman.clj.reload.log :as log]))
+
+(swap! log/loads conj "chain-x")
+
+(defn value [] (inc (b/value)))
@@ -0,0 +1,3 @@
+(ns com.vsubhuman.clj.reload.log)
+
+(def loads (atom []))
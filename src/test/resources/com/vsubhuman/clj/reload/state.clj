@@ -0,0 +1,3 @@
+(ns com.vsubhuman.clj.reload.state)
+
+(def counter (atom 0))
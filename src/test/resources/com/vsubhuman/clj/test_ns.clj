@@ -9,4 +9,37 @@
 (def test-atom-str-qwe (atom "qwe"))
 (def test-agent-str-qwe (agent "qwe"))
 
-(defn test-fn-pow2 [x] (* x x))
\ No newline at end of file
+(defn test-fn-pow2 [x] (* x x))
+
+(defn test-fn-first
+  ([] nil)
+  ([a] a)
+  ([a b] a)
+  ([a b c] a)
+  ([a b c d] a))
+
+(defn test-fn-inc-long ^long [^long x] (inc x))
+(defn test-fn-add-long ^long [^long a ^long b] (+ a b))
+(defn test-fn-half-double ^double [^double x] (/ x 2))
+(defn test-fn-mul-double ^double [^double a ^double b] (* a b))
+(defn test-fn-count ^long [x] (count x))
+(defn test-fn-length ^double [x] (double (count x)))
+
+(defn test-fn-sum-vals [acc k v] (+ acc v))
+
+(def test-realized (atom 0))
+(defn test-fn-lazy-range [] (map (fn [x] (swap! test-realized inc) x) (iterate inc 0)))
+
+(def ^:dynamic *test-dynamic* :root)
+(defn test-fn-dynamic [] *test-dynamic*)
+(def ^:dynamic *test-dynamic-other* :root-other)
+(defn test-fn-dynamics [] [*test-dynamic* *test-dynamic-other*])
+
+(def test-memo-calls (atom 0))
+(defn test-fn-memo [& args] (swap! test-memo-calls inc) (vec args))
+
+(defrecord TestPoint [x y])
+(defn test-fn-point [x y] (->TestPoint x y))
+
+(def test-counter (atom 0))
+(def test-validated (atom 0 :validator number?))